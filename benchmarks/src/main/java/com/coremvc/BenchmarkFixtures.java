@@ -0,0 +1,106 @@
+package com.coremvc;
+
+import com.coremvc.cache.RemoteCacheGuard;
+import com.coremvc.dto.ProductDto;
+import com.coremvc.mapper.ProductMapper;
+import com.coremvc.model.Product;
+import com.coremvc.security.TokenRevocationList;
+import com.coremvc.security.VerifiedTokenCache;
+import com.coremvc.util.BloomFilter;
+import com.coremvc.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic test data shared by the benchmarks.
+ * <p>
+ * Everything is derived from a fixed seed so that two runs, on two machines,
+ * measure exactly the same inputs.
+ * </p>
+ */
+public final class BenchmarkFixtures {
+
+    public static final long SEED = 42L;
+
+    public static final String JWT_SECRET = "benchmark-secret-key-at-least-32-characters-long";
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Builds products that look like the seeded catalogue: short names, a paragraph
+     * of description, a thumbnail URL and microsecond timestamps.
+     */
+    public static List<Product> products(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Product product = Product.builder()
+                    .name("Product " + i + " " + Long.toHexString(random.nextLong()))
+                    .price(BigDecimal.valueOf(random.nextInt(100, 1_000_000), 2))
+                    .description("Description for product " + i + ". " + "Lorem ipsum dolor sit amet. ".repeat(1 + random.nextInt(10)))
+                    .thumbnailUrl("https://cdn.example.com/products/" + i + ".jpg")
+                    .categoryId((long) (1 + random.nextInt(10)))
+                    .isActive(random.nextInt(10) > 0)
+                    .build();
+            product.setId((long) i);
+            product.setCreatedAt(BASE_TIME.plusSeconds(random.nextInt(31_536_000)).plusNanos(random.nextInt(1_000_000) * 1000L));
+            product.setUpdatedAt(product.getCreatedAt());
+            products.add(product);
+        }
+        return products;
+    }
+
+    public static List<ProductDto> productDtos(int count) {
+        ProductMapper mapper = new ProductMapper();
+        return products(count).stream().map(mapper::toDto).toList();
+    }
+
+    /**
+     * Creates a JwtUtil configured the way Spring would inject it.
+     */
+    public static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtil, "refreshTokenExpiration", 604_800_000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    /**
+     * Creates a VerifiedTokenCache configured the way Spring would inject it.
+     *
+     * @param enabled whether verified tokens are cached or verified on every call
+     */
+    public static VerifiedTokenCache verifiedTokenCache(JwtUtil jwtUtil, boolean enabled) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", enabled);
+        ReflectionTestUtils.setField(cache, "maxSize", 10_000L);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        return cache;
+    }
+
+    /**
+     * Creates a TokenRevocationList with an empty Bloom filter and no Redis behind it.
+     * <p>
+     * Its Redis subscription and rebuild are not started, so it only answers
+     * {@code isRevoked} for tokens that were never revoked, which never reaches Redis.
+     * </p>
+     */
+    public static TokenRevocationList tokenRevocationList(VerifiedTokenCache verifiedTokenCache) {
+        TokenRevocationList revocationList = new TokenRevocationList(null, null,
+                new RemoteCacheGuard(Duration.ofSeconds(5)), verifiedTokenCache, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(revocationList, "filter", new BloomFilter(100_000, 0.01));
+        return revocationList;
+    }
+}
@@ -0,0 +1,90 @@
+package com.coremvc.config;
+
+import com.coremvc.BenchmarkFixtures;
+import com.coremvc.cache.VersionedBinaryRedisSerializer;
+import com.coremvc.dto.ProductDto;
+import com.coremvc.dto.RestPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Value serialization of the L2 (Redis) cache, using the same ObjectMappers as
+ * {@link CacheConfig}: {@code json} for JSON caches, {@code binary} for versioned Smile
+ * caches. Covers a single product entry and a cached product page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RedisSerializerBenchmark {
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private RedisSerializer<Object> serializer;
+
+    private ProductDto product;
+
+    private RestPage<ProductDto> page;
+
+    private byte[] productBytes;
+
+    private byte[] pageBytes;
+
+    @Setup
+    public void setup() {
+        serializer = "binary".equals(format)
+                ? new VersionedBinaryRedisSerializer(CacheConfig.createBinaryRedisObjectMapper(), 1, 1024)
+                : new GenericJackson2JsonRedisSerializer(CacheConfig.createRedisObjectMapper());
+        page = new RestPage<>(BenchmarkFixtures.productDtos(20), PageRequest.of(0, 20), 100_000L);
+        product = page.getContent().get(0);
+        productBytes = serializer.serialize(product);
+        pageBytes = serializer.serialize(page);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() {
+        return serializer.serialize(product);
+    }
+
+    @Benchmark
+    public Object deserializeProduct() {
+        return serializer.deserialize(productBytes);
+    }
+
+    @Benchmark
+    public Object roundTripProduct() {
+        return serializer.deserialize(serializer.serialize(product));
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return serializer.serialize(page);
+    }
+
+    @Benchmark
+    public Object deserializePage() {
+        return serializer.deserialize(pageBytes);
+    }
+
+    @Benchmark
+    public Object roundTripPage() {
+        return serializer.deserialize(serializer.serialize(page));
+    }
+}
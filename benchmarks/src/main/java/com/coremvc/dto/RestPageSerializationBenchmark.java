@@ -0,0 +1,65 @@
+package com.coremvc.dto;
+
+import com.coremvc.BenchmarkFixtures;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a product page as written by the HTTP message converter.
+ * <p>
+ * The mapper mirrors the application's Jackson settings: JSR-310 dates as ISO strings
+ * and {@code non_null} inclusion.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RestPageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    @Param({"EXACT", "ABSENT"})
+    private PageCountMode countMode;
+
+    private ObjectWriter writer;
+
+    private RestPage<ProductDto> page;
+
+    @Setup
+    public void setup() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build()
+                .writer();
+        RestPage<ProductDto> exact = new RestPage<>(BenchmarkFixtures.productDtos(pageSize),
+                PageRequest.of(0, pageSize), 100_000L);
+        page = countMode == PageCountMode.EXACT
+                ? exact
+                : RestPage.fromSlice(exact, countMode, () -> 100_000L);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,55 @@
+package com.coremvc.mapper;
+
+import com.coremvc.BenchmarkFixtures;
+import com.coremvc.dto.ProductDto;
+import com.coremvc.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping, run once per product on every read endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ProductMapperBenchmark {
+
+    private final ProductMapper mapper = new ProductMapper();
+
+    private Product product;
+
+    private List<Product> page;
+
+    @Setup
+    public void setup() {
+        page = BenchmarkFixtures.products(20);
+        product = page.get(0);
+    }
+
+    @Benchmark
+    public ProductDto toDto() {
+        return mapper.toDto(product);
+    }
+
+    @Benchmark
+    public void toDtoPageOf20(Blackhole blackhole) {
+        for (Product p : page) {
+            blackhole.consume(mapper.toDto(p));
+        }
+    }
+}
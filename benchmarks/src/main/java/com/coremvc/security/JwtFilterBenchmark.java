@@ -0,0 +1,113 @@
+package com.coremvc.security;
+
+import com.coremvc.BenchmarkFixtures;
+import com.coremvc.util.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the JWT filter for a valid token, a token with a bad
+ * signature, and a request without an Authorization header.
+ * <p>
+ * The security context is cleared after each call, as the servlet container
+ * would do between requests, so every call authenticates from scratch.
+ * With {@code verifiedCache} enabled, the valid token is verified once and then
+ * served from the {@link VerifiedTokenCache}; revocation is checked against an
+ * empty Bloom filter, as for a token that was never revoked.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    private boolean verifiedCache;
+
+    private JwtFilter filter;
+
+    private MockHttpServletRequest validRequest;
+
+    private MockHttpServletRequest invalidRequest;
+
+    private MockHttpServletRequest anonymousRequest;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil();
+        VerifiedTokenCache verifiedTokenCache = BenchmarkFixtures.verifiedTokenCache(jwtUtil, verifiedCache);
+        filter = new JwtFilter(verifiedTokenCache, BenchmarkFixtures.tokenRevocationList(verifiedTokenCache),
+                new JwtExceptionHandler(new ObjectMapper()));
+
+        String token = jwtUtil.generateToken("6f1c2a7e-3b4d-4e5f-8a9b-0c1d2e3f4a5b", "bench@example.com", "USER");
+        String forged = Jwts.builder()
+                .subject("6f1c2a7e-3b4d-4e5f-8a9b-0c1d2e3f4a5b")
+                .claim("role", "ADMIN")
+                .signWith(Keys.hmacShaKeyFor("another-secret-key-at-least-32-characters-long!"
+                        .getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        validRequest = request("Bearer " + token);
+        invalidRequest = request("Bearer " + forged);
+        anonymousRequest = request(null);
+    }
+
+    @Benchmark
+    public int validToken() throws ServletException, IOException {
+        return filter(validRequest);
+    }
+
+    @Benchmark
+    public int invalidSignature() throws ServletException, IOException {
+        return filter(invalidRequest);
+    }
+
+    @Benchmark
+    public int noAuthorizationHeader() throws ServletException, IOException {
+        return filter(anonymousRequest);
+    }
+
+    private int filter(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilterInternal(request, response, NO_OP_CHAIN);
+            return response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+}
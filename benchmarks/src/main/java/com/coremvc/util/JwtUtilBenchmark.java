@@ -0,0 +1,49 @@
+package com.coremvc.util;
+
+import com.coremvc.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token signing on login and verification on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtUtilBenchmark {
+
+    private static final String UUID = "6f1c2a7e-3b4d-4e5f-8a9b-0c1d2e3f4a5b";
+
+    private JwtUtil jwtUtil;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = BenchmarkFixtures.jwtUtil();
+        token = jwtUtil.generateToken(UUID, "bench@example.com", "USER");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(UUID, "bench@example.com", "USER");
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+}
@@ -0,0 +1,68 @@
+package com.coremvc.util;
+
+import com.coremvc.Application;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Static setting lookup, which goes to the repository on every call.
+ * <p>
+ * The application context is started against an in-memory H2 database seeded with
+ * the default settings, so the numbers include the JPA query but not network latency.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SettingHelperBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    @Setup
+    public void setup() {
+        // Command-line arguments, because default properties lose to application.properties
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:settings-bench;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--setting.init=true",
+                        "--product.search.engine=like",
+                        "--logging.level.com.coremvc=WARN");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String loadExisting() {
+        return SettingHelper.loadStatic("TITLE");
+    }
+
+    @Benchmark
+    public String loadMissing() {
+        return SettingHelper.loadStatic("NO_SUCH_SETTING");
+    }
+}
@@ -16,6 +16,20 @@ CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category ON products (categ
 -- Composite index for active products sorted by created_at
 CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_active_created_at ON products (is_active, created_at DESC) WHERE is_active = true;
 
+-- Keyset (cursor) pagination uses idx_product_created_at_id (created_at, id) and
+-- idx_product_category_created_at_id (category_id, created_at, id), declared on the Product
+-- entity; a B-tree is scanned backwards for newest-first pages, so no DESC copies are needed
+
+-- Product search (product.search.engine=fulltext); requires the pg_trgm extension
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigram index for substring (ILIKE '%x%') matches on the name
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_name_trgm ON products USING GIN (name gin_trgm_ops);
+
+-- Full-text index; the expression must match ProductRepository.SEARCH_TSVECTOR
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_search_tsv ON products
+    USING GIN (to_tsvector('simple', coalesce(name, '') || ' ' || coalesce(description, '')));
+
 -- Update table statistics for query planner
 ANALYZE products;
 
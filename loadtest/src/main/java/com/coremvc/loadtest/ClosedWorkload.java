@@ -0,0 +1,88 @@
+package com.coremvc.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Closed workload model: a fixed number of users, each sending one request, waiting
+ * for the response, pausing for the think time and repeating.
+ * <p>
+ * Throughput is whatever the server sustains at that concurrency; latency is measured
+ * per request from send to last byte of the response.
+ * </p>
+ */
+public final class ClosedWorkload implements Workload {
+
+    private final HttpClient client;
+
+    private final RequestMix mix;
+
+    private final LatencyStats stats;
+
+    private final Duration thinkTime;
+
+    private final List<Thread> users = new ArrayList<>();
+
+    private volatile boolean running = true;
+
+    public ClosedWorkload(HttpClient client, RequestMix mix, LatencyStats stats,
+                          int concurrency, Duration thinkTime, long seed) {
+        this.client = client;
+        this.mix = mix;
+        this.stats = stats;
+        this.thinkTime = thinkTime;
+        SplittableRandom seeds = new SplittableRandom(seed);
+        for (int i = 0; i < concurrency; i++) {
+            SplittableRandom random = seeds.split();
+            Thread user = new Thread(() -> loop(random), "loadtest-user-" + i);
+            user.setDaemon(true);
+            users.add(user);
+        }
+    }
+
+    @Override
+    public void start() {
+        users.forEach(Thread::start);
+    }
+
+    private void loop(SplittableRandom random) {
+        while (running) {
+            int scenario = mix.next(random);
+            long start = System.nanoTime();
+            boolean success;
+            try {
+                HttpResponse<Void> response = client.send(mix.request(scenario, random),
+                        HttpResponse.BodyHandlers.discarding());
+                success = response.statusCode() / 100 == 2;
+            } catch (IOException e) {
+                success = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.record(scenario, System.nanoTime() - start, success);
+
+            if (!thinkTime.isZero()) {
+                try {
+                    Thread.sleep(thinkTime.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread user : users) {
+            user.join();
+        }
+    }
+}
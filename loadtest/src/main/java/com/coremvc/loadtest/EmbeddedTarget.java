@@ -0,0 +1,83 @@
+package com.coremvc.loadtest;
+
+import com.coremvc.Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the application in this JVM against an in-memory H2 database and a
+ * {@link RedisStandIn}, so a load test needs nothing but a JDK.
+ * <p>
+ * The load generator shares the CPU with the server, so absolute numbers are lower
+ * than on a dedicated host; use it to compare changes, and {@code --base-url} against
+ * a deployed instance for capacity planning.
+ * </p>
+ */
+public final class EmbeddedTarget implements AutoCloseable {
+
+    private final RedisStandIn redis;
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedTarget(RedisStandIn redis, ConfigurableApplicationContext context) {
+        this.redis = redis;
+        this.context = context;
+    }
+
+    /**
+     * Starts the Redis stand-in and the application on a random port.
+     *
+     * @param products        number of products to seed
+     * @param adminUsername   admin login to configure
+     * @param adminPassword   admin password to configure
+     * @param applicationArgs extra {@code --property=value} arguments, applied last
+     * @return the running target
+     */
+    public static EmbeddedTarget start(int products, String adminUsername, String adminPassword,
+                                       List<String> applicationArgs) throws IOException {
+        RedisStandIn redis = RedisStandIn.start();
+
+        // Command-line arguments, because default properties lose to application.properties
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.data.redis.host=127.0.0.1",
+                "--spring.data.redis.port=" + redis.port(),
+                "--spring.data.redis.password=",
+                "--admin.username=" + adminUsername,
+                "--admin.password=" + adminPassword,
+                "--product.init=true",
+                "--seed.products=" + products,
+                "--setting.init=true",
+                "--logging.level.com.coremvc=WARN",
+                // Requests may still be in flight when the context closes at the end of a run
+                "--logging.level.org.apache.catalina.loader=ERROR"));
+        args.addAll(applicationArgs);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(Application.class)
+                .run(args.toArray(String[]::new));
+        return new EmbeddedTarget(redis, context);
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1";
+    }
+
+    public int cachedKeys() {
+        return redis.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        redis.close();
+    }
+}
@@ -0,0 +1,203 @@
+package com.coremvc.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-scenario latency histograms and error counters.
+ * <p>
+ * Request threads record into lock-free {@link Recorder}s. A single reporting thread
+ * calls {@link #tick()} to harvest interval histograms, print a progress line and
+ * fold them into the cumulative histograms used by the final report. Latencies are
+ * recorded in microseconds, from 1 µs to 1 hour, with 3 significant digits.
+ * </p>
+ */
+public final class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final List<String> names;
+
+    private final Recorder[] recorders;
+
+    private final Histogram[] cumulative;
+
+    private final LongAdder[] errors;
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final Histogram intervalTotal = newHistogram();
+
+    private final PrintStream out;
+
+    private final HistogramLogWriter logWriter;
+
+    private final long logStartMillis = System.currentTimeMillis();
+
+    private volatile boolean measuring;
+
+    private long measureStartNanos;
+
+    private long measureEndNanos;
+
+    private long lastTickNanos = System.nanoTime();
+
+    public LatencyStats(List<String> names, PrintStream out, HistogramLogWriter logWriter) {
+        this.names = names;
+        this.out = out;
+        this.logWriter = logWriter;
+        this.recorders = new Recorder[names.size()];
+        this.cumulative = new Histogram[names.size()];
+        this.errors = new LongAdder[names.size()];
+        for (int i = 0; i < names.size(); i++) {
+            recorders[i] = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            cumulative[i] = newHistogram();
+            errors[i] = new LongAdder();
+        }
+        if (logWriter != null) {
+            logWriter.outputLogFormatVersion();
+            logWriter.outputStartTime(logStartMillis);
+            logWriter.setBaseTime(logStartMillis);
+            logWriter.outputLegend();
+        }
+    }
+
+    /**
+     * Records one completed request. Ignored outside the measured window.
+     *
+     * @param scenario     scenario index
+     * @param latencyNanos latency in nanoseconds
+     * @param success      whether the response had a 2xx status
+     */
+    public void record(int scenario, long latencyNanos, boolean success) {
+        if (!measuring) {
+            return;
+        }
+        recorders[scenario].recordValue(Math.min(Math.max(latencyNanos / 1000, 1), HIGHEST_TRACKABLE_MICROS));
+        if (!success) {
+            errors[scenario].increment();
+        }
+    }
+
+    /**
+     * Counts a request the generator could not send because too many were in flight.
+     */
+    public void reject() {
+        if (measuring) {
+            rejected.increment();
+        }
+    }
+
+    /**
+     * Starts the measured window, discarding everything recorded during warm-up.
+     */
+    public synchronized void startMeasuring() {
+        for (Recorder recorder : recorders) {
+            recorder.reset();
+        }
+        measureStartNanos = System.nanoTime();
+        lastTickNanos = measureStartNanos;
+        measuring = true;
+    }
+
+    /**
+     * Ends the measured window and harvests what is left.
+     */
+    public synchronized void stopMeasuring() {
+        measureEndNanos = System.nanoTime();
+        tick();
+        measuring = false;
+    }
+
+    /**
+     * Harvests interval histograms and prints one progress line.
+     */
+    public synchronized void tick() {
+        if (!measuring) {
+            return;
+        }
+        long now = System.nanoTime();
+        intervalTotal.reset();
+        for (int i = 0; i < recorders.length; i++) {
+            Histogram interval = recorders[i].getIntervalHistogram();
+            cumulative[i].add(interval);
+            intervalTotal.add(interval);
+        }
+        double seconds = (now - lastTickNanos) / 1e9;
+        out.printf(Locale.ROOT, "[%6.1fs] %8.1f req/s  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+                (now - measureStartNanos) / 1e9,
+                intervalTotal.getTotalCount() / Math.max(seconds, 1e-9),
+                millis(intervalTotal.getValueAtPercentile(50)),
+                millis(intervalTotal.getValueAtPercentile(99)),
+                millis(intervalTotal.getMaxValue()));
+        if (logWriter != null) {
+            intervalTotal.setStartTimeStamp(System.currentTimeMillis() - (long) (seconds * 1000));
+            intervalTotal.setEndTimeStamp(System.currentTimeMillis());
+            logWriter.outputIntervalHistogram(intervalTotal);
+        }
+        lastTickNanos = now;
+    }
+
+    /**
+     * Prints the final per-scenario table.
+     *
+     * @param targetRate the offered rate for the open model, or 0 for the closed model
+     */
+    public synchronized void printReport(int targetRate) {
+        double seconds = (measureEndNanos - measureStartNanos) / 1e9;
+        Histogram total = newHistogram();
+        long totalErrors = 0;
+
+        out.println();
+        out.printf(Locale.ROOT, "%-18s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (int i = 0; i < names.size(); i++) {
+            printRow(names.get(i), cumulative[i], errors[i].sum(), seconds);
+            total.add(cumulative[i]);
+            totalErrors += errors[i].sum();
+        }
+        printRow("TOTAL", total, totalErrors, seconds);
+        out.println();
+
+        double throughput = total.getTotalCount() / seconds;
+        if (targetRate > 0) {
+            out.printf(Locale.ROOT, "Offered %d req/s, achieved %.1f req/s (%.1f%%) over %.1fs%n",
+                    targetRate, throughput, 100.0 * throughput / targetRate, seconds);
+        } else {
+            out.printf(Locale.ROOT, "Achieved %.1f req/s over %.1fs%n", throughput, seconds);
+        }
+        if (rejected.sum() > 0) {
+            out.printf(Locale.ROOT, "Not sent (max in flight reached): %d%n", rejected.sum());
+        }
+    }
+
+    private void printRow(String name, Histogram histogram, long errorCount, double seconds) {
+        out.printf(Locale.ROOT, "%-18s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name,
+                histogram.getTotalCount(),
+                errorCount,
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+}
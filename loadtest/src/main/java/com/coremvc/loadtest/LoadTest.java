@@ -0,0 +1,120 @@
+package com.coremvc.loadtest;
+
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP load generator for the API.
+ * <p>
+ * Discovers ids and tokens on the target, runs the configured workload model for a
+ * warm-up and a measured period, prints a progress line per interval and finishes
+ * with per-scenario throughput and latency percentiles (p50/p90/p99/p99.9/max).
+ * Run without arguments to see the options.
+ * </p>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.printf(LoadTestConfig.USAGE, LoadTestConfig.DEFAULT_MIX);
+            return;
+        }
+
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.printf(LoadTestConfig.USAGE, LoadTestConfig.DEFAULT_MIX);
+            System.exit(2);
+            return;
+        }
+
+        EmbeddedTarget embedded = null;
+        String baseUrl = config.baseUrl();
+        if (config.embedded()) {
+            System.out.printf("Starting embedded target (H2 + Redis stand-in, %d products)...%n", config.products());
+            embedded = EmbeddedTarget.start(config.products(), config.adminUsername(), config.adminPassword(),
+                    config.applicationArgs());
+            baseUrl = embedded.baseUrl();
+        }
+
+        try {
+            run(config, baseUrl);
+            if (embedded != null) {
+                System.out.printf("Redis stand-in holds %d keys%n", embedded.cachedKeys());
+            }
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    private static void run(LoadTestConfig config, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        TargetData data = TargetData.discover(client, baseUrl, config.adminUsername(), config.adminPassword());
+        System.out.printf("Target %s: %s%n", baseUrl, String.join(", ", data.describe()));
+
+        RequestMix mix = RequestMix.of(config.mix(), new RequestMix.RequestFactory(baseUrl, data, config.requestTimeout()));
+        PrintStream hdrLog = config.hdrLog() != null ? open(config.hdrLog()) : null;
+        LatencyStats stats = new LatencyStats(mix.names(), System.out,
+                hdrLog != null ? new HistogramLogWriter(hdrLog) : null);
+
+        Workload workload = config.model() == LoadTestConfig.WorkloadModel.OPEN
+                ? new OpenWorkload(client, mix, stats, config.rate(), config.concurrency(),
+                        config.requestTimeout(), config.randomSeed())
+                : new ClosedWorkload(client, mix, stats, config.concurrency(), config.thinkTime(),
+                        config.randomSeed());
+
+        System.out.println(config.model() == LoadTestConfig.WorkloadModel.OPEN
+                ? String.format(Locale.ROOT, "Open model: %d req/s, at most %d in flight", config.rate(), config.concurrency())
+                : String.format(Locale.ROOT, "Closed model: %d users, think time %d ms",
+                        config.concurrency(), config.thinkTime().toMillis()));
+        System.out.printf("Mix: %s%n", config.mix());
+        System.out.printf("Warm-up %ds, measuring %ds%n", config.warmup().toSeconds(), config.duration().toSeconds());
+
+        workload.start();
+        Thread.sleep(config.warmup().toMillis());
+
+        ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "loadtest-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        stats.startMeasuring();
+        long interval = config.reportInterval().toMillis();
+        ticker.scheduleAtFixedRate(stats::tick, interval, interval, TimeUnit.MILLISECONDS);
+        Thread.sleep(config.duration().toMillis());
+        ticker.shutdownNow();
+        stats.stopMeasuring();
+
+        workload.stop();
+        stats.printReport(config.model() == LoadTestConfig.WorkloadModel.OPEN ? config.rate() : 0);
+        if (hdrLog != null) {
+            hdrLog.close();
+            System.out.printf("Interval histograms written to %s%n", config.hdrLog());
+        }
+    }
+
+    private static PrintStream open(String path) throws FileNotFoundException {
+        return new PrintStream(path);
+    }
+}
@@ -0,0 +1,176 @@
+package com.coremvc.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command-line options of the load test.
+ * <p>
+ * Options are given as {@code --name=value}. Any option whose name contains a dot
+ * (e.g. {@code --product.search.engine=memory}) is not interpreted here and is passed
+ * to the embedded application instead.
+ * </p>
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        String adminUsername,
+        String adminPassword,
+        WorkloadModel model,
+        int rate,
+        int concurrency,
+        Duration duration,
+        Duration warmup,
+        Duration thinkTime,
+        Duration requestTimeout,
+        Duration reportInterval,
+        Map<String, Integer> mix,
+        int products,
+        long randomSeed,
+        String hdrLog,
+        List<String> applicationArgs) {
+
+    public enum WorkloadModel {
+        /** Requests arrive at a fixed rate regardless of how fast the server answers. */
+        OPEN,
+        /** A fixed number of users each wait for their response (plus think time) before sending the next. */
+        CLOSED
+    }
+
+    public static final String USAGE = """
+            Usage: java -jar loadtest.jar [options] [--some.app.property=value ...]
+
+              --base-url=URL          target server; omit to start the application in-process
+                                      on H2 with a Redis stand-in (embedded target)
+              --admin-username=NAME   admin login of the target (default admin)
+              --admin-password=PASS   admin password of the target (default admin123)
+              --model=open|closed     open: fixed arrival rate; closed: fixed number of users (default open)
+              --rate=N                open model: requests per second (default 2000)
+              --concurrency=N         closed model: users; open model: max requests in flight (default 64)
+              --duration=60s          measured duration
+              --warmup=15s            unmeasured warm-up before the measured duration
+              --think-time=0ms        closed model: pause between a response and the next request
+              --timeout=10s           per-request timeout
+              --report-interval=5s    progress line interval
+              --mix=name=weight,...   request mix (default %s)
+              --products=N            embedded target: products to seed (default 10000)
+              --seed=N                random seed for the request sequence (default 42)
+              --hdr-log=FILE          write interval histograms in HdrHistogram log format
+            """;
+
+    static final Map<String, Integer> DEFAULT_MIX = defaultMix();
+
+    private static Map<String, Integer> defaultMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put("product-list", 25);
+        mix.put("product-get", 20);
+        mix.put("product-category", 15);
+        mix.put("product-search", 15);
+        mix.put("category-list", 10);
+        mix.put("settings-default", 8);
+        mix.put("auth-me", 5);
+        mix.put("auth-login", 2);
+        return Collections.unmodifiableMap(mix);
+    }
+
+    /**
+     * Parses command-line arguments.
+     *
+     * @param args the arguments
+     * @return the configuration
+     * @throws IllegalArgumentException if an option is unknown or malformed
+     */
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            if (name.contains(".")) {
+                applicationArgs.add(arg);
+            } else {
+                options.put(name, eq < 0 ? "true" : arg.substring(eq + 1));
+            }
+        }
+
+        LoadTestConfig config = new LoadTestConfig(
+                options.remove("base-url"),
+                remove(options, "admin-username", "admin"),
+                remove(options, "admin-password", "admin123"),
+                WorkloadModel.valueOf(remove(options, "model", "open").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(remove(options, "rate", "2000")),
+                Integer.parseInt(remove(options, "concurrency", "64")),
+                parseDuration(remove(options, "duration", "60s")),
+                parseDuration(remove(options, "warmup", "15s")),
+                parseDuration(remove(options, "think-time", "0ms")),
+                parseDuration(remove(options, "timeout", "10s")),
+                parseDuration(remove(options, "report-interval", "5s")),
+                options.containsKey("mix") ? parseMix(options.remove("mix")) : DEFAULT_MIX,
+                Integer.parseInt(remove(options, "products", "10000")),
+                Long.parseLong(remove(options, "seed", "42")),
+                options.remove("hdr-log"),
+                List.copyOf(applicationArgs));
+
+        if (!options.isEmpty()) {
+            throw new IllegalArgumentException("Unknown option(s): " + options.keySet());
+        }
+        if (config.rate <= 0 || config.concurrency <= 0) {
+            throw new IllegalArgumentException("--rate and --concurrency must be positive");
+        }
+        return config;
+    }
+
+    public boolean embedded() {
+        return baseUrl == null;
+    }
+
+    private static String remove(Map<String, String> options, String name, String defaultValue) {
+        String value = options.remove(name);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Parses durations such as {@code 500ms}, {@code 30s}, {@code 5m} or ISO-8601 {@code PT30S}.
+     */
+    static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.startsWith("pt")) {
+            return Duration.parse(v);
+        }
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        long amount = Long.parseLong(v.substring(0, v.length() - 1));
+        return switch (v.charAt(v.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> throw new IllegalArgumentException("Invalid duration: " + value);
+        };
+    }
+
+    static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry + " (expected name=weight)");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(parts[0].trim(), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The request mix is empty");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,96 @@
+package com.coremvc.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open workload model: requests are sent on a fixed schedule of {@code rate} per second,
+ * whether or not earlier requests have completed.
+ * <p>
+ * Latency is measured from the time a request was <em>scheduled</em> to be sent, not from
+ * when it actually went out, so a server stall shows up in the percentiles instead of
+ * silently lowering the request rate (no coordinated omission). When
+ * {@code maxInFlight} requests are outstanding, further requests are counted as rejected
+ * rather than queued without bound.
+ * </p>
+ */
+public final class OpenWorkload implements Workload {
+
+    private final HttpClient client;
+
+    private final RequestMix mix;
+
+    private final LatencyStats stats;
+
+    private final int rate;
+
+    private final int maxInFlight;
+
+    private final Duration drainTimeout;
+
+    private final SplittableRandom random;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Thread scheduler;
+
+    private volatile boolean running = true;
+
+    public OpenWorkload(HttpClient client, RequestMix mix, LatencyStats stats,
+                        int rate, int maxInFlight, Duration drainTimeout, long seed) {
+        this.client = client;
+        this.mix = mix;
+        this.stats = stats;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+        this.drainTimeout = drainTimeout;
+        this.random = new SplittableRandom(seed);
+        this.scheduler = new Thread(this::schedule, "loadtest-open-scheduler");
+        this.scheduler.setDaemon(true);
+    }
+
+    @Override
+    public void start() {
+        scheduler.start();
+    }
+
+    private void schedule() {
+        long start = System.nanoTime();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+        for (long i = 0; running; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            int scenario = mix.next(random);
+            if (inFlight.get() >= maxInFlight) {
+                stats.reject();
+                continue;
+            }
+            inFlight.incrementAndGet();
+            client.sendAsync(mix.request(scenario, random), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        stats.record(scenario, System.nanoTime() - intended,
+                                error == null && response.statusCode() / 100 == 2);
+                        inFlight.decrementAndGet();
+                    });
+        }
+    }
+
+    @Override
+    public void stop() throws InterruptedException {
+        running = false;
+        scheduler.join();
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
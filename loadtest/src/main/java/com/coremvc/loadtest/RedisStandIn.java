@@ -0,0 +1,586 @@
+package com.coremvc.loadtest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * A minimal in-process Redis server for the embedded target.
+ * <p>
+ * Speaks RESP2 over a loopback socket and implements the string, key and expiry
+ * commands used by the Spring cache (GET, SET with EX/PX/NX/XX, DEL, EXISTS, KEYS,
+ * SCAN, counters), pub/sub for the cache invalidation bus and token revocations
+ * (SUBSCRIBE, PSUBSCRIBE, PUBLISH and their unsubscribes), and EVAL of the one script
+ * the application uses, the compare-and-delete release of a load lock. It is a
+ * stand-in for load testing on one machine, not a Redis: there is one thread per
+ * connection, one shared keyspace and no persistence.
+ * </p>
+ */
+public final class RedisStandIn implements Closeable {
+
+    private static final byte[] OK = "+OK\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] NULL_BULK = "$-1\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    // DistributedLoadLock's release script; EVAL of anything else is rejected
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    private record Entry(byte[] value, long expiresAtMillis) {
+
+        boolean expired(long now) {
+            return expiresAtMillis > 0 && expiresAtMillis <= now;
+        }
+    }
+
+    /**
+     * A client connection; its output is shared with publishers on other connections.
+     */
+    private static final class Connection {
+
+        final OutputStream out;
+
+        final Set<String> channels = ConcurrentHashMap.newKeySet();
+
+        final Set<String> patterns = ConcurrentHashMap.newKeySet();
+
+        Connection(OutputStream out) {
+            this.out = out;
+        }
+
+        int subscriptions() {
+            return channels.size() + patterns.size();
+        }
+    }
+
+    // Keys are stored as ISO-8859-1 strings, which map bytes to chars one-to-one
+    private final Map<String, Entry> data = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Connection>> subscribers = new ConcurrentHashMap<>();
+
+    private final Map<String, Set<Connection>> patternSubscribers = new ConcurrentHashMap<>();
+
+    private final ServerSocket serverSocket;
+
+    private final Thread acceptor;
+
+    private volatile boolean running = true;
+
+    private RedisStandIn(ServerSocket serverSocket) {
+        this.serverSocket = serverSocket;
+        this.acceptor = new Thread(this::accept, "redis-stand-in-acceptor");
+        this.acceptor.setDaemon(true);
+    }
+
+    /**
+     * Starts the server on a free loopback port.
+     */
+    public static RedisStandIn start() throws IOException {
+        RedisStandIn server = new RedisStandIn(new ServerSocket(0, 128, InetAddress.getLoopbackAddress()));
+        server.acceptor.start();
+        return server;
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+    }
+
+    private void accept() {
+        int connections = 0;
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                Thread handler = new Thread(() -> serve(socket), "redis-stand-in-" + connections++);
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Redis stand-in: accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            Connection connection = new Connection(out);
+            try {
+                while (running) {
+                    List<byte[]> command = readCommand(in);
+                    if (command == null) {
+                        return;
+                    }
+                    // Publishers write to this connection's output too
+                    synchronized (connection) {
+                        if (!command.isEmpty()) {
+                            execute(command, connection);
+                        }
+                        // Flush once the pipeline is drained
+                        if (in.available() == 0) {
+                            out.flush();
+                        }
+                    }
+                }
+            } finally {
+                unsubscribeAll(connection);
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    // ---------------------------------------------------------------- protocol
+
+    private static List<byte[]> readCommand(InputStream in) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        if (first != '*') {
+            // Inline command, e.g. from redis-cli or telnet
+            String line = (char) first + readLine(in);
+            List<byte[]> args = new ArrayList<>();
+            for (String part : line.trim().split("\\s+")) {
+                if (!part.isEmpty()) {
+                    args.add(part.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return args;
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<byte[]> args = new ArrayList<>(Math.max(count, 0));
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Protocol error: expected bulk string");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] arg = in.readNBytes(length);
+            if (arg.length != length) {
+                throw new EOFException();
+            }
+            in.read();
+            in.read();
+            args.add(arg);
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c < 0) {
+                throw new EOFException();
+            }
+            line.append((char) c);
+        }
+        in.read();
+        return line.toString();
+    }
+
+    private static void writeBulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.write(NULL_BULK);
+            return;
+        }
+        out.write(('$' + Integer.toString(value.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(value);
+        out.write('\r');
+        out.write('\n');
+    }
+
+    private static void writeInteger(OutputStream out, long value) throws IOException {
+        out.write((':' + Long.toString(value) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void writeError(OutputStream out, String message) throws IOException {
+        out.write(("-" + message + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeArrayHeader(OutputStream out, int size) throws IOException {
+        out.write(('*' + Integer.toString(size) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    // ---------------------------------------------------------------- commands
+
+    private void execute(List<byte[]> command, Connection connection) throws IOException {
+        OutputStream out = connection.out;
+        String name = text(command.get(0)).toUpperCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        switch (name) {
+            case "PING" -> {
+                if (command.size() > 1) {
+                    writeBulk(out, command.get(1));
+                } else {
+                    out.write("+PONG\r\n".getBytes(StandardCharsets.US_ASCII));
+                }
+            }
+            case "ECHO" -> writeBulk(out, command.get(1));
+            case "AUTH", "SELECT", "CLIENT", "READONLY", "RESET" -> out.write(OK);
+            case "QUIT" -> {
+                out.write(OK);
+                out.flush();
+                throw new EOFException();
+            }
+            case "GET" -> writeBulk(out, value(key(command, 1), now));
+            case "GETDEL" -> {
+                Entry removed = data.remove(key(command, 1));
+                writeBulk(out, removed != null && !removed.expired(now) ? removed.value() : null);
+            }
+            case "MGET" -> {
+                writeArrayHeader(out, command.size() - 1);
+                for (int i = 1; i < command.size(); i++) {
+                    writeBulk(out, value(key(command, i), now));
+                }
+            }
+            case "SET" -> set(command, out, now);
+            case "SETEX", "PSETEX" -> {
+                long ttl = Long.parseLong(text(command.get(2)));
+                data.put(key(command, 1), new Entry(command.get(3), now + ("SETEX".equals(name) ? ttl * 1000 : ttl)));
+                out.write(OK);
+            }
+            case "DEL", "UNLINK" -> {
+                long removed = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    Entry entry = data.remove(key(command, i));
+                    if (entry != null && !entry.expired(now)) {
+                        removed++;
+                    }
+                }
+                writeInteger(out, removed);
+            }
+            case "EXISTS" -> {
+                long found = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    if (value(key(command, i), now) != null) {
+                        found++;
+                    }
+                }
+                writeInteger(out, found);
+            }
+            case "EXPIRE", "PEXPIRE" -> {
+                long ttl = Long.parseLong(text(command.get(2)));
+                long expiresAt = now + ("EXPIRE".equals(name) ? ttl * 1000 : ttl);
+                Entry updated = data.computeIfPresent(key(command, 1),
+                        (k, e) -> e.expired(now) ? null : new Entry(e.value(), expiresAt));
+                writeInteger(out, updated != null ? 1 : 0);
+            }
+            case "TTL", "PTTL" -> {
+                Entry entry = data.get(key(command, 1));
+                if (entry == null || entry.expired(now)) {
+                    writeInteger(out, -2);
+                } else if (entry.expiresAtMillis() == 0) {
+                    writeInteger(out, -1);
+                } else {
+                    long millis = entry.expiresAtMillis() - now;
+                    writeInteger(out, "TTL".equals(name) ? (millis + 999) / 1000 : millis);
+                }
+            }
+            case "INCR", "INCRBY", "DECR", "DECRBY" -> {
+                long delta = command.size() > 2 ? Long.parseLong(text(command.get(2))) : 1;
+                if (name.startsWith("DECR")) {
+                    delta = -delta;
+                }
+                long step = delta;
+                long[] result = new long[1];
+                data.compute(key(command, 1), (k, e) -> {
+                    long current = e == null || e.expired(now) ? 0 : Long.parseLong(text(e.value()));
+                    result[0] = current + step;
+                    return new Entry(Long.toString(result[0]).getBytes(StandardCharsets.US_ASCII),
+                            e == null || e.expired(now) ? 0 : e.expiresAtMillis());
+                });
+                writeInteger(out, result[0]);
+            }
+            case "KEYS" -> {
+                List<byte[]> keys = matchingKeys(text(command.get(1)), now);
+                writeArrayHeader(out, keys.size());
+                for (byte[] key : keys) {
+                    writeBulk(out, key);
+                }
+            }
+            case "SCAN" -> {
+                // Returns everything in one pass; cursor 0 tells the client the scan is complete
+                String pattern = "*";
+                for (int i = 2; i + 1 < command.size(); i += 2) {
+                    if ("MATCH".equalsIgnoreCase(text(command.get(i)))) {
+                        pattern = text(command.get(i + 1));
+                    }
+                }
+                List<byte[]> keys = matchingKeys(pattern, now);
+                writeArrayHeader(out, 2);
+                writeBulk(out, "0".getBytes(StandardCharsets.US_ASCII));
+                writeArrayHeader(out, keys.size());
+                for (byte[] key : keys) {
+                    writeBulk(out, key);
+                }
+            }
+            case "DBSIZE" -> writeInteger(out, data.size());
+            case "FLUSHDB", "FLUSHALL" -> {
+                data.clear();
+                out.write(OK);
+            }
+            case "INFO" -> writeBulk(out, ("# Server\r\nredis_version:7.0.0\r\nredis_mode:standalone\r\n"
+                    + "# Keyspace\r\ndb0:keys=" + data.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+            case "COMMAND" -> writeArrayHeader(out, 0);
+            case "SUBSCRIBE", "PSUBSCRIBE" -> subscribe(command, connection, "PSUBSCRIBE".equals(name));
+            case "UNSUBSCRIBE", "PUNSUBSCRIBE" -> unsubscribe(command, connection, "PUNSUBSCRIBE".equals(name));
+            case "PUBLISH" -> writeInteger(out, publish(key(command, 1), command.get(2)));
+            case "EVAL" -> eval(command, out, now);
+            // Scripts are not cached; clients then fall back to EVAL
+            case "EVALSHA" -> writeError(out, "NOSCRIPT No matching script. Please use EVAL.");
+            // HELLO is unknown to RESP2-only servers; clients fall back to RESP2
+            default -> writeError(out, "ERR unknown command '" + name + "'");
+        }
+    }
+
+    private void set(List<byte[]> command, OutputStream out, long now) throws IOException {
+        String key = key(command, 1);
+        byte[] value = command.get(2);
+        long expiresAt = 0;
+        boolean nx = false;
+        boolean xx = false;
+        boolean keepTtl = false;
+        boolean get = false;
+        for (int i = 3; i < command.size(); i++) {
+            switch (text(command.get(i)).toUpperCase(Locale.ROOT)) {
+                case "EX" -> expiresAt = now + Long.parseLong(text(command.get(++i))) * 1000;
+                case "PX" -> expiresAt = now + Long.parseLong(text(command.get(++i)));
+                case "EXAT" -> expiresAt = Long.parseLong(text(command.get(++i))) * 1000;
+                case "PXAT" -> expiresAt = Long.parseLong(text(command.get(++i)));
+                case "NX" -> nx = true;
+                case "XX" -> xx = true;
+                case "KEEPTTL" -> keepTtl = true;
+                case "GET" -> get = true;
+                default -> {
+                    writeError(out, "ERR syntax error");
+                    return;
+                }
+            }
+        }
+
+        long ttl = expiresAt;
+        boolean onlyIfAbsent = nx;
+        boolean onlyIfPresent = xx;
+        boolean keep = keepTtl;
+        Entry[] previous = new Entry[1];
+        boolean[] written = new boolean[1];
+        data.compute(key, (k, e) -> {
+            Entry live = e == null || e.expired(now) ? null : e;
+            previous[0] = live;
+            if ((onlyIfAbsent && live != null) || (onlyIfPresent && live == null)) {
+                return live;
+            }
+            written[0] = true;
+            return new Entry(value, keep && live != null ? live.expiresAtMillis() : ttl);
+        });
+
+        if (get) {
+            writeBulk(out, previous[0] != null ? previous[0].value() : null);
+        } else if (written[0]) {
+            out.write(OK);
+        } else {
+            out.write(NULL_BULK);
+        }
+    }
+
+    private void subscribe(List<byte[]> command, Connection connection, boolean pattern) throws IOException {
+        Map<String, Set<Connection>> registry = pattern ? patternSubscribers : subscribers;
+        Set<String> subscribed = pattern ? connection.patterns : connection.channels;
+        for (int i = 1; i < command.size(); i++) {
+            String channel = key(command, i);
+            registry.computeIfAbsent(channel, c -> ConcurrentHashMap.newKeySet()).add(connection);
+            subscribed.add(channel);
+            writeArrayHeader(connection.out, 3);
+            writeBulk(connection.out, (pattern ? "psubscribe" : "subscribe").getBytes(StandardCharsets.US_ASCII));
+            writeBulk(connection.out, command.get(i));
+            writeInteger(connection.out, connection.subscriptions());
+        }
+    }
+
+    private void unsubscribe(List<byte[]> command, Connection connection, boolean pattern) throws IOException {
+        Map<String, Set<Connection>> registry = pattern ? patternSubscribers : subscribers;
+        Set<String> subscribed = pattern ? connection.patterns : connection.channels;
+        byte[] kind = (pattern ? "punsubscribe" : "unsubscribe").getBytes(StandardCharsets.US_ASCII);
+        List<String> channels = new ArrayList<>();
+        if (command.size() > 1) {
+            for (int i = 1; i < command.size(); i++) {
+                channels.add(key(command, i));
+            }
+        } else {
+            channels.addAll(subscribed);
+        }
+        if (channels.isEmpty()) {
+            writeArrayHeader(connection.out, 3);
+            writeBulk(connection.out, kind);
+            writeBulk(connection.out, null);
+            writeInteger(connection.out, connection.subscriptions());
+        }
+        for (String channel : channels) {
+            subscribed.remove(channel);
+            Set<Connection> connections = registry.get(channel);
+            if (connections != null) {
+                connections.remove(connection);
+            }
+            writeArrayHeader(connection.out, 3);
+            writeBulk(connection.out, kind);
+            writeBulk(connection.out, channel.getBytes(StandardCharsets.ISO_8859_1));
+            writeInteger(connection.out, connection.subscriptions());
+        }
+    }
+
+    private void unsubscribeAll(Connection connection) {
+        connection.channels.forEach(channel -> subscribers.getOrDefault(channel, Set.of()).remove(connection));
+        connection.patterns.forEach(pattern -> patternSubscribers.getOrDefault(pattern, Set.of()).remove(connection));
+    }
+
+    private long publish(String channel, byte[] message) {
+        byte[] channelBytes = channel.getBytes(StandardCharsets.ISO_8859_1);
+        long receivers = 0;
+        for (Connection subscriber : subscribers.getOrDefault(channel, Set.of())) {
+            if (deliver(subscriber, null, channelBytes, message)) {
+                receivers++;
+            }
+        }
+        for (Map.Entry<String, Set<Connection>> entry : patternSubscribers.entrySet()) {
+            if (!Pattern.compile(globToRegex(entry.getKey()), Pattern.DOTALL).matcher(channel).matches()) {
+                continue;
+            }
+            byte[] pattern = entry.getKey().getBytes(StandardCharsets.ISO_8859_1);
+            for (Connection subscriber : entry.getValue()) {
+                if (deliver(subscriber, pattern, channelBytes, message)) {
+                    receivers++;
+                }
+            }
+        }
+        return receivers;
+    }
+
+    private static boolean deliver(Connection subscriber, byte[] pattern, byte[] channel, byte[] message) {
+        synchronized (subscriber) {
+            try {
+                if (pattern != null) {
+                    writeArrayHeader(subscriber.out, 4);
+                    writeBulk(subscriber.out, "pmessage".getBytes(StandardCharsets.US_ASCII));
+                    writeBulk(subscriber.out, pattern);
+                } else {
+                    writeArrayHeader(subscriber.out, 3);
+                    writeBulk(subscriber.out, "message".getBytes(StandardCharsets.US_ASCII));
+                }
+                writeBulk(subscriber.out, channel);
+                writeBulk(subscriber.out, message);
+                subscriber.out.flush();
+                return true;
+            } catch (IOException e) {
+                // Subscriber went away; its connection thread cleans up
+                return false;
+            }
+        }
+    }
+
+    private void eval(List<byte[]> command, OutputStream out, long now) throws IOException {
+        String script = text(command.get(1)).trim();
+        int keys = Integer.parseInt(text(command.get(2)));
+        if (!RELEASE_SCRIPT.equals(script) || keys != 1 || command.size() < 5) {
+            writeError(out, "ERR only the load lock release script is supported by the stand-in");
+            return;
+        }
+        String token = text(command.get(4));
+        boolean[] deleted = new boolean[1];
+        data.computeIfPresent(key(command, 3), (k, e) -> {
+            if (!e.expired(now) && token.equals(text(e.value()))) {
+                deleted[0] = true;
+                return null;
+            }
+            return e.expired(now) ? null : e;
+        });
+        writeInteger(out, deleted[0] ? 1 : 0);
+    }
+
+    private byte[] value(String key, long now) {
+        Entry entry = data.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expired(now)) {
+            data.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private List<byte[]> matchingKeys(String glob, long now) {
+        Pattern pattern = Pattern.compile(globToRegex(glob), Pattern.DOTALL);
+        List<byte[]> keys = new ArrayList<>();
+        data.forEach((key, entry) -> {
+            if (!entry.expired(now) && pattern.matcher(key).matches()) {
+                keys.add(key.getBytes(StandardCharsets.ISO_8859_1));
+            }
+        });
+        return keys;
+    }
+
+    static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                case '[' -> {
+                    int end = glob.indexOf(']', i + 1);
+                    if (end < 0) {
+                        regex.append("\\[");
+                    } else {
+                        // Glob and regex character classes share syntax (ranges, ^ negation)
+                        String set = glob.substring(i + 1, end).replace("\\", "\\\\").replace("[", "\\[");
+                        regex.append('[').append(set).append(']');
+                        i = end;
+                    }
+                }
+                case '\\' -> {
+                    if (i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                }
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    private static String key(List<byte[]> command, int index) {
+        return new String(command.get(index), StandardCharsets.ISO_8859_1);
+    }
+
+    private static String text(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
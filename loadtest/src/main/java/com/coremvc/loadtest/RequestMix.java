@@ -0,0 +1,137 @@
+package com.coremvc.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+
+/**
+ * The weighted set of requests sent during a run.
+ * <p>
+ * Each scenario turns a random source into one concrete request, so the sequence of
+ * requests is fully determined by the seed.
+ * </p>
+ */
+public final class RequestMix {
+
+    /**
+     * One kind of request, e.g. "product-get".
+     */
+    public record Scenario(String name, BiFunction<SplittableRandom, RequestFactory, HttpRequest> request) {
+    }
+
+    /**
+     * Builds requests against the target with the discovered data.
+     */
+    public record RequestFactory(String baseUrl, TargetData data, Duration timeout) {
+
+        HttpRequest.Builder get(String path, String token) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(timeout)
+                    .GET();
+            return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+        }
+
+        HttpRequest.Builder post(String path, String json) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+    }
+
+    private static final List<Scenario> SCENARIOS = List.of(
+            new Scenario("product-list", (random, f) -> f.get(
+                    "/products?page=" + random.nextInt(50) + "&size=20&sortBy=id&sortDirection=DESC",
+                    f.data().adminToken()).build()),
+            new Scenario("product-get", (random, f) -> f.get(
+                    "/products/" + pick(random, f.data().productIds()),
+                    f.data().adminToken()).build()),
+            new Scenario("product-category", (random, f) -> f.get(
+                    "/products/category-id/" + pick(random, f.data().categoryIds()) + "?page=" + random.nextInt(10) + "&size=20",
+                    null).build()),
+            new Scenario("product-search", (random, f) -> f.get(
+                    "/products/search?name=" + f.data().searchTerms()[random.nextInt(f.data().searchTerms().length)] + "&size=20",
+                    null).build()),
+            new Scenario("category-list", (random, f) -> f.get(
+                    "/categorys?page=0&size=20",
+                    f.data().adminToken()).build()),
+            new Scenario("settings-default", (random, f) -> f.get(
+                    "/settings/default?page=0&size=20",
+                    null).build()),
+            new Scenario("auth-me", (random, f) -> f.get(
+                    "/auth/me",
+                    f.data().userToken()).build()),
+            new Scenario("auth-login", (random, f) -> f.post(
+                    "/auth/login",
+                    "{\"email\":\"" + f.data().userEmail() + "\",\"password\":\"" + f.data().userPassword() + "\"}").build()));
+
+    private final Scenario[] scenarios;
+
+    private final int[] cumulativeWeights;
+
+    private final RequestFactory factory;
+
+    private RequestMix(Scenario[] scenarios, int[] cumulativeWeights, RequestFactory factory) {
+        this.scenarios = scenarios;
+        this.cumulativeWeights = cumulativeWeights;
+        this.factory = factory;
+    }
+
+    /**
+     * Creates a mix from scenario weights.
+     *
+     * @param weights scenario name to relative weight
+     * @param factory builds the requests
+     * @return the mix
+     * @throws IllegalArgumentException if a scenario name is unknown
+     */
+    public static RequestMix of(Map<String, Integer> weights, RequestFactory factory) {
+        List<Scenario> selected = new ArrayList<>();
+        int[] cumulative = new int[weights.size()];
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            Scenario scenario = SCENARIOS.stream()
+                    .filter(s -> s.name().equals(entry.getKey()))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown scenario: " + entry.getKey()
+                            + " (known: " + SCENARIOS.stream().map(Scenario::name).toList() + ")"));
+            total += entry.getValue();
+            cumulative[selected.size()] = total;
+            selected.add(scenario);
+        }
+        return new RequestMix(selected.toArray(Scenario[]::new), cumulative, factory);
+    }
+
+    public List<String> names() {
+        return Arrays.stream(scenarios).map(Scenario::name).toList();
+    }
+
+    /**
+     * Picks the next scenario by weight.
+     *
+     * @return the index of the scenario, as used by {@link #request(int, SplittableRandom)}
+     */
+    public int next(SplittableRandom random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    public HttpRequest request(int scenario, SplittableRandom random) {
+        return scenarios[scenario].request().apply(random, factory);
+    }
+
+    private static long pick(SplittableRandom random, long[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,117 @@
+package com.coremvc.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Credentials and ids discovered on the target before the run starts, so that
+ * generated requests hit rows that exist.
+ */
+public record TargetData(
+        String adminToken,
+        String userToken,
+        String userEmail,
+        String userPassword,
+        long[] productIds,
+        long[] categoryIds,
+        String[] searchTerms) {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final String USER_PASSWORD = "loadtest123";
+
+    /**
+     * Logs in as admin, registers a fresh user and samples up to 1000 products.
+     *
+     * @param client        the HTTP client
+     * @param baseUrl       the API base URL, e.g. {@code http://localhost:8080/api/v1}
+     * @param adminUsername admin username
+     * @param adminPassword admin password
+     * @return the discovered data
+     * @throws IllegalStateException if the target rejects any of the setup calls or has no products
+     */
+    public static TargetData discover(HttpClient client, String baseUrl,
+                                      String adminUsername, String adminPassword)
+            throws IOException, InterruptedException {
+        String adminToken = post(client, baseUrl + "/auth/login",
+                Map.of("username", adminUsername, "password", adminPassword)).path("token").asText();
+
+        String email = "loadtest-" + System.currentTimeMillis() + "@example.com";
+        String userToken = post(client, baseUrl + "/auth/register",
+                Map.of("email", email, "fullName", "Load Test", "password", USER_PASSWORD)).path("token").asText();
+
+        JsonNode content = get(client, baseUrl + "/products?page=0&size=1000&sortBy=id", adminToken)
+                .path("data").path("content");
+        if (!content.isArray() || content.isEmpty()) {
+            throw new IllegalStateException("The target has no products; seed it first (e.g. PRODUCT_INIT=true)");
+        }
+
+        long[] productIds = new long[content.size()];
+        TreeSet<Long> categoryIds = new TreeSet<>();
+        TreeSet<String> terms = new TreeSet<>();
+        for (int i = 0; i < content.size(); i++) {
+            JsonNode product = content.get(i);
+            productIds[i] = product.path("id").asLong();
+            if (product.hasNonNull("categoryId")) {
+                categoryIds.add(product.path("categoryId").asLong());
+            }
+            for (String word : product.path("name").asText().split("[^\\p{L}\\p{N}]+")) {
+                if (word.length() >= 3) {
+                    terms.add(word.toLowerCase());
+                }
+            }
+        }
+
+        if (categoryIds.isEmpty()) {
+            categoryIds.add(1L);
+        }
+        return new TargetData(adminToken, userToken, email, USER_PASSWORD, productIds,
+                categoryIds.stream().mapToLong(Long::longValue).toArray(),
+                new ArrayList<>(terms).subList(0, Math.min(terms.size(), 200)).toArray(String[]::new));
+    }
+
+    private static JsonNode post(HttpClient client, String url, Object body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)))
+                .build();
+        return send(client, request);
+    }
+
+    private static JsonNode get(HttpClient client, String url, String token) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+        return send(client, request);
+    }
+
+    private static JsonNode send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " returned "
+                    + response.statusCode() + ": " + new String(response.body()));
+        }
+        return JSON.readTree(response.body());
+    }
+
+    List<String> describe() {
+        return List.of(
+                productIds.length + " product ids",
+                categoryIds.length + " category ids",
+                searchTerms.length + " search terms");
+    }
+}
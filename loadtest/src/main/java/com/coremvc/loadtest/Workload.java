@@ -0,0 +1,17 @@
+package com.coremvc.loadtest;
+
+/**
+ * Generates requests until stopped.
+ */
+public interface Workload {
+
+    /**
+     * Starts generating requests in the background.
+     */
+    void start();
+
+    /**
+     * Stops generating requests and waits for outstanding ones to complete.
+     */
+    void stop() throws InterruptedException;
+}
@@ -0,0 +1,27 @@
+-- Move existing tables from IDENTITY ids to the pooled sequences used by PooledSequenceIdGenerator
+-- Run this script once, before starting the new version against an existing database:
+--   psql -h localhost -U postgres -d dev -f migrate-to-sequences.sql
+-- It is safe to re-run. INCREMENT BY must equal coremvc.id.allocation-size (default 50).
+
+BEGIN;
+
+DO $$
+DECLARE
+    t text;
+BEGIN
+    FOREACH t IN ARRAY ARRAY['products', 'categorys', 'settings', 'payments', 'users'] LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I START WITH 1 INCREMENT BY 50', t || '_seq');
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', t || '_seq');
+
+        -- Next nextval returns max(id) + 1, so new ids never collide with existing rows
+        EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) + 1 FROM %I), false)', t || '_seq', t);
+
+        -- Inserts must now supply an id from the sequence
+        EXECUTE format('ALTER TABLE %I ALTER COLUMN id DROP IDENTITY IF EXISTS', t);
+    END LOOP;
+END $$;
+
+COMMIT;
+
+-- Show the new sequence positions
+SELECT sequencename, last_value, increment_by FROM pg_sequences WHERE sequencename LIKE '%\_seq';
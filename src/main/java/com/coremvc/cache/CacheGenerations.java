@@ -0,0 +1,155 @@
+package com.coremvc.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Generation counters that invalidate whole list caches in O(1).
+ * <p>
+ * List cache keys start with the current generation of their namespace, e.g.
+ * {@code key = "@cacheGenerations.current('product::page') + '-' + #pageable.pageNumber"}.
+ * {@link #advance(String)} increments the generation instead of deleting entries, so the
+ * next reads use new keys and the old entries simply expire with their TTL. Nothing is
+ * scanned or deleted in Redis.
+ * </p>
+ * <p>
+ * Counters live in Redis and are shared by all instances; each instance keeps a copy in
+ * the {@value #CACHE_NAME} L1 cache, which the {@link CacheInvalidationBus} evicts on the
+ * other instances when a generation advances. While Redis is unreachable generations
+ * advance locally only. Once it is back, the Redis counter is moved past every generation
+ * used locally in the meantime: the generation from before the outage would otherwise be
+ * read again and its entries served, although writes during the outage changed the data.
+ * </p>
+ */
+public class CacheGenerations {
+
+    public static final String CACHE_NAME = "cache::generation";
+
+    /**
+     * Sets the counter to one past the larger of its value and ARGV[1], a generation used
+     * locally during an outage.
+     */
+    private static final RedisScript<Long> ADVANCE_PAST = new DefaultRedisScript<>(
+            "local generation = math.max(tonumber(redis.call('get', KEYS[1]) or '0'), tonumber(ARGV[1])) + 1 "
+                    + "redis.call('set', KEYS[1], generation) return generation",
+            Long.class);
+
+    private final Cache generations;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RemoteCacheGuard guard;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final String keyPrefix;
+
+    private final Map<String, Long> localGenerations = new ConcurrentHashMap<>();
+
+    public CacheGenerations(Cache generations, StringRedisTemplate redisTemplate, RemoteCacheGuard guard,
+                            CacheInvalidationBus invalidationBus, String keyPrefix) {
+        this.generations = generations;
+        this.redisTemplate = redisTemplate;
+        this.guard = guard;
+        this.invalidationBus = invalidationBus;
+        this.keyPrefix = keyPrefix;
+    }
+
+    /**
+     * Returns the current generation of a namespace, usually without leaving the JVM.
+     */
+    public long current(String namespace) {
+        if (localGenerations.containsKey(namespace)) {
+            return reconcile(namespace);
+        }
+        Long generation = generations.get(namespace, Long.class);
+        if (generation != null) {
+            return generation;
+        }
+        long stamp = invalidationBus.stamp(CACHE_NAME, namespace);
+        Long remote = guard.call(CACHE_NAME, () -> {
+            String value = redisTemplate.opsForValue().get(keyPrefix + namespace);
+            return value != null ? Long.parseLong(value) : 0L;
+        }, null);
+        if (remote == null) {
+            return localGenerations.getOrDefault(namespace, 0L);
+        }
+        if (invalidationBus.stamp(CACHE_NAME, namespace) == stamp) {
+            generations.put(namespace, remote);
+        }
+        return remote;
+    }
+
+    /**
+     * Invalidates every entry of a namespace. Inside a transaction the generation
+     * advances after commit, so concurrent readers cannot cache uncommitted state
+     * under the new generation.
+     */
+    public void advance(String namespace) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    advanceNow(namespace);
+                }
+            });
+        } else {
+            advanceNow(namespace);
+        }
+    }
+
+    private void advanceNow(String namespace) {
+        Long localGeneration = localGenerations.get(namespace);
+        Long remote = guard.call(CACHE_NAME, () -> localGeneration == null
+                ? redisTemplate.opsForValue().increment(keyPrefix + namespace)
+                : redisTemplate.execute(ADVANCE_PAST, List.of(keyPrefix + namespace), String.valueOf(localGeneration)), null);
+        long generation;
+        if (remote != null) {
+            if (localGeneration != null) {
+                localGenerations.remove(namespace, localGeneration);
+            }
+            generation = remote;
+        } else {
+            generation = advanceLocally(namespace);
+        }
+        generations.put(namespace, generation);
+        invalidationBus.evicted(CACHE_NAME, namespace);
+    }
+
+    /**
+     * Moves the Redis counter past a generation that advanced locally during an outage,
+     * or returns the local generation while Redis is still unreachable.
+     */
+    private synchronized long reconcile(String namespace) {
+        Long localGeneration = localGenerations.get(namespace);
+        if (localGeneration == null) {
+            // Reconciled by another thread
+            return current(namespace);
+        }
+        Long remote = guard.call(CACHE_NAME, () -> redisTemplate.execute(
+                ADVANCE_PAST, List.of(keyPrefix + namespace), String.valueOf(localGeneration)), null);
+        if (remote == null) {
+            return localGeneration;
+        }
+        // A concurrent local advance keeps its entry and is reconciled on the next read
+        localGenerations.remove(namespace, localGeneration);
+        generations.put(namespace, remote);
+        invalidationBus.evicted(CACHE_NAME, namespace);
+        return remote;
+    }
+
+    private long advanceLocally(String namespace) {
+        Long localGeneration = localGenerations.get(namespace);
+        long generation = (localGeneration != null ? localGeneration : current(namespace)) + 1;
+        localGenerations.put(namespace, generation);
+        return generation;
+    }
+}
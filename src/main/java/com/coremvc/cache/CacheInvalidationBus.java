@@ -0,0 +1,310 @@
+package com.coremvc.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the per-instance L1 caches of all instances consistent over a Redis channel.
+ * <p>
+ * Local evictions and clears are collected for {@code batchWindow} (or until
+ * {@code maxBatchSize} keys are pending) and published as one
+ * {@link CacheInvalidationMessage}; a pending clear absorbs pending evictions of the
+ * same cache. Other instances apply the batch to their L1 caches. Messages from this
+ * instance are ignored, since its own L1 is evicted synchronously.
+ * </p>
+ * <p>
+ * Messages are JSON with type-tagged keys (see {@link CacheInvalidationMessage}); keys of
+ * other types are sent as a clear of their cache.
+ * </p>
+ * <p>
+ * Every key has a version stamp that is bumped before an invalidation of the key (or a
+ * clear of its cache) is applied. {@link TwoLevelCache} only backfills L1 from L2, or
+ * stores a refreshed value, if the key's stamp did not change meanwhile, so a read that raced an invalidation cannot put the stale value back. When
+ * a sender's sequence skips (messages lost, e.g. during a reconnect) all L1 caches are
+ * cleared, because the missed keys are unknown.
+ * </p>
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener, AutoCloseable {
+
+    private static final Set<Object> ALL_KEYS = Collections.unmodifiableSet(new HashSet<>());
+
+    // Keys share stamps by hash; a collision only makes a backfill or refresh skip needlessly
+    private static final int KEY_STRIPES = 1024;
+
+    private static final class Stamps {
+
+        private final AtomicLong clears = new AtomicLong();
+
+        private final AtomicLongArray keys = new AtomicLongArray(KEY_STRIPES);
+
+        // Both counters only grow, so an unchanged sum means neither changed
+        long of(Object key) {
+            return clears.get() + keys.get(stripe(key));
+        }
+
+        void evicted(Object key) {
+            keys.incrementAndGet(stripe(key));
+        }
+
+        void cleared() {
+            clears.incrementAndGet();
+        }
+
+        private static int stripe(Object key) {
+            int hash = key.hashCode();
+            return (hash ^ (hash >>> 16)) & (KEY_STRIPES - 1);
+        }
+    }
+
+    private final CacheManager localCacheManager;
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RemoteCacheGuard guard;
+
+    private final String channel;
+
+    private final long batchWindowMillis;
+
+    private final int maxBatchSize;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "cache-invalidation-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Stamps> stamps = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> lastSequenceByNode = new ConcurrentHashMap<>();
+
+    private final AtomicLong publishedBatches = new AtomicLong();
+
+    private final AtomicLong appliedEntries = new AtomicLong();
+
+    private final AtomicLong missedBatches = new AtomicLong();
+
+    private final Object lock = new Object();
+
+    private Map<String, Set<Object>> pending = new LinkedHashMap<>();
+
+    private int pendingKeys;
+
+    private boolean flushScheduled;
+
+    private long sequence;
+
+    public CacheInvalidationBus(CacheManager localCacheManager, StringRedisTemplate redisTemplate,
+                                RemoteCacheGuard guard, String channel, Duration batchWindow, int maxBatchSize) {
+        this.localCacheManager = localCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.guard = guard;
+        this.channel = channel;
+        this.batchWindowMillis = batchWindow.toMillis();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Current version stamp of a key; changes whenever the key is evicted or its cache is cleared.
+     */
+    public long stamp(String cacheName, Object key) {
+        return stampsOf(cacheName).of(key);
+    }
+
+    /**
+     * Records a local eviction and schedules it for publishing.
+     */
+    public void evicted(String cacheName, Object key) {
+        stampsOf(cacheName).evicted(key);
+        // A key that cannot be sent is invalidated on the other instances by clearing its cache
+        enqueue(cacheName, CacheInvalidationMessage.isSupportedKey(key) ? key : null);
+    }
+
+    /**
+     * Records a local clear and schedules it for publishing.
+     */
+    public void cleared(String cacheName) {
+        stampsOf(cacheName).cleared();
+        enqueue(cacheName, null);
+    }
+
+    private void enqueue(String cacheName, Object key) {
+        boolean flushNow = false;
+        synchronized (lock) {
+            Set<Object> keys = pending.get(cacheName);
+            if (keys == ALL_KEYS) {
+                return;
+            }
+            if (key == null) {
+                pendingKeys -= keys != null ? keys.size() : 0;
+                pending.put(cacheName, ALL_KEYS);
+                pendingKeys++;
+            } else if (pending.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).add(key)) {
+                pendingKeys++;
+            }
+            if (pendingKeys >= maxBatchSize) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                flusher.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (flushNow) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    /**
+     * Publishes the pending invalidations as one message.
+     */
+    public void flush() {
+        CacheInvalidationMessage message;
+        synchronized (lock) {
+            flushScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<CacheInvalidationMessage.Entry> entries = new ArrayList<>(pendingKeys);
+            pending.forEach((cacheName, keys) -> {
+                if (keys == ALL_KEYS) {
+                    entries.add(CacheInvalidationMessage.Entry.of(cacheName, null));
+                } else {
+                    keys.forEach(key -> entries.add(CacheInvalidationMessage.Entry.of(cacheName, key)));
+                }
+            });
+            pending = new LinkedHashMap<>();
+            pendingKeys = 0;
+            // Advanced even if publishing fails, so receivers notice the gap
+            message = new CacheInvalidationMessage(nodeId, ++sequence, entries);
+        }
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            log.warn("Could not encode cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        guard.run(channel, () -> {
+            redisTemplate.convertAndSend(channel, body);
+            publishedBatches.incrementAndGet();
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(message.getBody(), CacheInvalidationMessage.class);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cache invalidation message: {}", e.getMessage());
+            return;
+        }
+        if (invalidation.sourceNodeId() != null && invalidation.entries() != null) {
+            apply(invalidation);
+        }
+    }
+
+    /**
+     * Applies an invalidation batch from another instance to the local L1 caches.
+     */
+    public void apply(CacheInvalidationMessage message) {
+        if (nodeId.equals(message.sourceNodeId())) {
+            return;
+        }
+        Long previous = lastSequenceByNode.put(message.sourceNodeId(), message.sequence());
+        if (previous != null && message.sequence() != previous + 1) {
+            missedBatches.addAndGet(Math.max(1, message.sequence() - previous - 1));
+            log.warn("Missed {} cache invalidation batch(es) from node {}, clearing all L1 caches",
+                    message.sequence() - previous - 1, message.sourceNodeId());
+            localCacheManager.getCacheNames().forEach(this::clearLocal);
+            return;
+        }
+        appliedEntries.addAndGet(message.entries().size());
+        for (CacheInvalidationMessage.Entry entry : message.entries()) {
+            Object key;
+            try {
+                key = entry.decodedKey();
+            } catch (IllegalArgumentException e) {
+                // Key type from a newer sender: drop the whole cache rather than keep a stale entry
+                key = null;
+            }
+            if (key == null) {
+                clearLocal(entry.cacheName());
+            } else {
+                Cache cache = localCache(entry.cacheName());
+                if (cache != null) {
+                    stampsOf(entry.cacheName()).evicted(key);
+                    cache.evict(key);
+                }
+            }
+        }
+    }
+
+    public long getPublishedBatches() {
+        return publishedBatches.get();
+    }
+
+    public long getAppliedEntries() {
+        return appliedEntries.get();
+    }
+
+    public long getMissedBatches() {
+        return missedBatches.get();
+    }
+
+    private void clearLocal(String cacheName) {
+        Cache cache = localCache(cacheName);
+        if (cache != null) {
+            stampsOf(cacheName).cleared();
+            cache.clear();
+        }
+    }
+
+    // Only caches this instance already has; looking up others would create them
+    private Cache localCache(String cacheName) {
+        return localCacheManager.getCacheNames().contains(cacheName) ? localCacheManager.getCache(cacheName) : null;
+    }
+
+    private Stamps stampsOf(String cacheName) {
+        return stamps.computeIfAbsent(cacheName, name -> new Stamps());
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        flush();
+    }
+}
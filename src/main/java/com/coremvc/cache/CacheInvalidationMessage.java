@@ -0,0 +1,84 @@
+package com.coremvc.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * A batch of L1 invalidations published by one instance.
+ * <p>
+ * {@code sequence} increases by one per batch and instance, so a receiver can detect
+ * batches it missed. An entry with a {@code null} key clears the whole cache.
+ * </p>
+ * <p>
+ * Messages travel as JSON. Keys are type-tagged strings ({@code L:42}, {@code I:7},
+ * {@code S:all}), so a receiver only ever reconstructs {@code Long}, {@code Integer} or
+ * {@code String} keys and never instantiates a class named by the sender.
+ * </p>
+ */
+public record CacheInvalidationMessage(String sourceNodeId, long sequence, List<Entry> entries) {
+
+    private static final String LONG_TAG = "L:";
+
+    private static final String INTEGER_TAG = "I:";
+
+    private static final String STRING_TAG = "S:";
+
+    /**
+     * Whether a key can be sent in an entry; other keys are invalidated by clearing their cache.
+     */
+    public static boolean isSupportedKey(Object key) {
+        return key instanceof Long || key instanceof Integer || key instanceof String;
+    }
+
+    public record Entry(String cacheName, @Nullable String key) {
+
+        /**
+         * An eviction of {@code key}, or a clear if {@code key} is {@code null}.
+         *
+         * @throws IllegalArgumentException if the key is not a {@code Long}, {@code Integer} or {@code String}
+         */
+        public static Entry of(String cacheName, @Nullable Object key) {
+            if (key == null) {
+                return new Entry(cacheName, null);
+            }
+            if (key instanceof Long) {
+                return new Entry(cacheName, LONG_TAG + key);
+            }
+            if (key instanceof Integer) {
+                return new Entry(cacheName, INTEGER_TAG + key);
+            }
+            if (key instanceof String) {
+                return new Entry(cacheName, STRING_TAG + key);
+            }
+            throw new IllegalArgumentException("Unsupported cache key type: " + key.getClass().getName());
+        }
+
+        @JsonIgnore // Derived from key, not part of the wire format
+        public boolean isClear() {
+            return key == null;
+        }
+
+        /**
+         * The original cache key.
+         *
+         * @throws IllegalArgumentException if the key is not tagged with a known type
+         */
+        public Object decodedKey() {
+            if (key == null) {
+                return null;
+            }
+            if (key.startsWith(LONG_TAG)) {
+                return Long.valueOf(key.substring(LONG_TAG.length()));
+            }
+            if (key.startsWith(INTEGER_TAG)) {
+                return Integer.valueOf(key.substring(INTEGER_TAG.length()));
+            }
+            if (key.startsWith(STRING_TAG)) {
+                return key.substring(STRING_TAG.length());
+            }
+            throw new IllegalArgumentException("Unknown cache key type in: " + key);
+        }
+    }
+}
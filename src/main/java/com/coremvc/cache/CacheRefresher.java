@@ -0,0 +1,93 @@
+package com.coremvc.cache;
+
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Refresh-ahead for hot cache entries.
+ * <p>
+ * An entry that is read while less than {@code window} of its L1 lifetime remains is
+ * reloaded in the background, so frequently read keys are replaced before they expire
+ * and readers never wait for the database. The reload is written through to L2, which
+ * renews the Redis TTL as well. Refreshes run on a small bounded pool; when it is full
+ * a refresh is skipped and the entry simply expires. Caches may override the window;
+ * a zero window disables refresh-ahead for that cache.
+ * </p>
+ */
+public class CacheRefresher implements AutoCloseable {
+
+    private final Duration window;
+
+    private final Map<String, Duration> windowsByCache;
+
+    private final ThreadPoolExecutor executor;
+
+    public CacheRefresher(Duration window, Map<String, Duration> windowsByCache, int threads, int queueCapacity) {
+        this.window = window;
+        this.windowsByCache = Map.copyOf(windowsByCache);
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "cache-refresh-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public boolean isEnabled() {
+        return isPositive(window) || windowsByCache.values().stream().anyMatch(CacheRefresher::isPositive);
+    }
+
+    /**
+     * Refresh-ahead window of a cache.
+     */
+    public Duration windowFor(String cacheName) {
+        return windowsByCache.getOrDefault(cacheName, window);
+    }
+
+    /**
+     * Whether an L1 entry is close enough to expiry to be refreshed.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean isDue(Cache local, Object key) {
+        Duration cacheWindow = windowFor(local.getName());
+        if (!isPositive(cacheWindow) || !(local.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+            return false;
+        }
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).policy().expireVariably()
+                .flatMap(expiration -> expiration.getExpiresAfter(key))
+                .map(remaining -> remaining.compareTo(cacheWindow) <= 0)
+                .orElse(false);
+    }
+
+    /**
+     * Runs a refresh in the background.
+     *
+     * @return {@code false} if the pool is saturated and the refresh was skipped
+     */
+    public boolean submit(Runnable refresh) {
+        try {
+            executor.execute(refresh);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private static boolean isPositive(Duration duration) {
+        return !duration.isZero() && !duration.isNegative();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,95 @@
+package com.coremvc.cache;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Short-lived Redis lock that lets one instance load a missing cache entry while the
+ * others wait for it to appear in L2.
+ * <p>
+ * The lock expires after {@code ttl}, so a crashed loader only delays the others by
+ * that much; waiters also give up after {@code ttl} and load themselves. When the lock
+ * is disabled or Redis is unreachable every caller may load.
+ * </p>
+ */
+public class DistributedLoadLock {
+
+    /**
+     * Token handed out when no lock was taken; the caller may load without coordination.
+     */
+    public static final String UNLOCKED = "";
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RemoteCacheGuard guard;
+
+    private final boolean enabled;
+
+    private final Duration ttl;
+
+    private final Duration pollInterval;
+
+    private final String keyPrefix;
+
+    public DistributedLoadLock(StringRedisTemplate redisTemplate, RemoteCacheGuard guard, boolean enabled,
+                               Duration ttl, Duration pollInterval, String keyPrefix) {
+        this.redisTemplate = redisTemplate;
+        this.guard = guard;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.pollInterval = pollInterval;
+        this.keyPrefix = keyPrefix;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    /**
+     * Tries to take the load lock for a cache entry.
+     *
+     * @return a token to pass to {@link #release}, {@link #UNLOCKED} if the caller may
+     * load without a lock, or {@code null} if another instance is loading
+     */
+    public String tryAcquire(String cacheName, Object key) {
+        if (!enabled) {
+            return UNLOCKED;
+        }
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = guard.call(cacheName,
+                () -> redisTemplate.opsForValue().setIfAbsent(lockKey(cacheName, key), token, ttl), null);
+        if (acquired == null) {
+            return UNLOCKED;
+        }
+        return acquired ? token : null;
+    }
+
+    public void release(String cacheName, Object key, String token) {
+        if (token == null || UNLOCKED.equals(token)) {
+            return;
+        }
+        // Only delete our own lock; it may have expired and been taken by another loader
+        guard.run(cacheName, () -> redisTemplate.execute(RELEASE, List.of(lockKey(cacheName, key)), token));
+    }
+
+    private String lockKey(String cacheName, Object key) {
+        return keyPrefix + cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,218 @@
+package com.coremvc.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caffeine weigher that estimates the heap retained by a cache entry, in bytes.
+ * <p>
+ * The estimate assumes a 64-bit JVM with compressed references: 12-byte object headers,
+ * 4-byte references and 8-byte alignment. Strings, boxed numbers, dates, collections, maps
+ * and arrays are sized directly; application objects (DTOs, pages) are walked field by
+ * field. JDK internals are not reflected into and count as a small fixed object. Objects
+ * reachable twice from one entry are counted once, objects shared between entries (enums,
+ * cached {@code Boolean}s) are counted per entry. The result is an estimate for budgeting,
+ * not an exact measurement, and is computed once per write.
+ * </p>
+ */
+public class EstimatedSizeWeigher implements Weigher<Object, Object> {
+
+    /**
+     * Caffeine node with variable expiry and weight, plus its hash table slot.
+     */
+    static final int ENTRY_OVERHEAD = 64;
+
+    private static final int HEADER = 12;
+
+    private static final int REFERENCE = 4;
+
+    private static final int ARRAY_HEADER = 16;
+
+    private static final int SHALLOW_OBJECT = 16;
+
+    private static final int MAX_DEPTH = 32;
+
+    private static final ClassValue<List<Field>> FIELDS = new ClassValue<>() {
+        @Override
+        protected List<Field> computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.trySetAccessible()) {
+                        fields.add(field);
+                    }
+                }
+            }
+            return List.copyOf(fields);
+        }
+    };
+
+    private static final ClassValue<Long> SHALLOW_SIZES = new ClassValue<>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            long size = HEADER;
+            for (Field field : FIELDS.get(type)) {
+                size += field.getType().isPrimitive() ? primitiveSize(field.getType()) : REFERENCE;
+            }
+            return align(size);
+        }
+    };
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long size = ENTRY_OVERHEAD + estimate(key) + estimate(value);
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Estimated bytes retained by {@code value} and everything it references.
+     */
+    public static long estimate(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        return new Walk().size(value, 0);
+    }
+
+    private static final class Walk {
+
+        private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        long size(Object value, int depth) {
+            if (value == null || value instanceof Enum<?> || value instanceof Class<?>
+                    || depth > MAX_DEPTH || !visited.add(value)) {
+                return 0;
+            }
+            if (value instanceof String string) {
+                return stringSize(string);
+            }
+            if (value instanceof Number number) {
+                return numberSize(number);
+            }
+            if (value instanceof Boolean || value instanceof Character) {
+                return SHALLOW_OBJECT;
+            }
+            if (value instanceof Temporal temporal) {
+                return temporalSize(temporal);
+            }
+            if (value instanceof Collection<?> collection) {
+                long size = align(HEADER + 2 * REFERENCE + 8) + align(ARRAY_HEADER + (long) REFERENCE * collection.size());
+                for (Object element : collection) {
+                    size += size(element, depth + 1);
+                }
+                return size;
+            }
+            if (value instanceof Map<?, ?> map) {
+                long size = align(HEADER + 3 * REFERENCE + 16) + align(ARRAY_HEADER + (long) REFERENCE * map.size() * 2);
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    size += 32 + size(entry.getKey(), depth + 1) + size(entry.getValue(), depth + 1);
+                }
+                return size;
+            }
+            Class<?> type = value.getClass();
+            if (type.isArray()) {
+                return arraySize(value, type.getComponentType(), depth);
+            }
+            if (isJdkType(type)) {
+                return SHALLOW_OBJECT;
+            }
+            long size = SHALLOW_SIZES.get(type);
+            for (Field field : FIELDS.get(type)) {
+                if (!field.getType().isPrimitive()) {
+                    try {
+                        size += size(field.get(value), depth + 1);
+                    } catch (IllegalAccessException e) {
+                        // Unreadable fields only count as a reference
+                    }
+                }
+            }
+            return size;
+        }
+
+        private long arraySize(Object array, Class<?> componentType, int depth) {
+            int length = Array.getLength(array);
+            if (componentType.isPrimitive()) {
+                return align(ARRAY_HEADER + (long) primitiveSize(componentType) * length);
+            }
+            long size = align(ARRAY_HEADER + (long) REFERENCE * length);
+            for (int i = 0; i < length; i++) {
+                size += size(Array.get(array, i), depth + 1);
+            }
+            return size;
+        }
+    }
+
+    private static long stringSize(String string) {
+        // Compact strings: one byte per char unless a char is outside Latin-1
+        int bytesPerChar = 1;
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return align(HEADER + REFERENCE + 8) + align(ARRAY_HEADER + (long) bytesPerChar * string.length());
+    }
+
+    private static long numberSize(Number number) {
+        if (number instanceof BigDecimal decimal) {
+            BigInteger unscaled = decimal.unscaledValue();
+            // The unscaled BigInteger is only materialized for values beyond a long
+            return 40 + (unscaled.bitLength() < 64 ? 0 : align(HEADER + 20) + align(ARRAY_HEADER + 4L * (unscaled.bitLength() / 32 + 1)));
+        }
+        if (number instanceof BigInteger integer) {
+            return align(HEADER + 20) + align(ARRAY_HEADER + 4L * (integer.bitLength() / 32 + 1));
+        }
+        return number instanceof Long || number instanceof Double ? 24 : SHALLOW_OBJECT;
+    }
+
+    private static long temporalSize(Temporal temporal) {
+        if (temporal instanceof LocalDateTime) {
+            return 24 + 24 + 24; // LocalDateTime, LocalDate, LocalTime
+        }
+        if (temporal instanceof LocalDate) {
+            return 24;
+        }
+        // Instant, LocalTime, ...; zoned types share their zone
+        return 24 + (temporal instanceof ZonedDateTime || temporal instanceof OffsetDateTime ? 72 : 0);
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.");
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,40 @@
+package com.coremvc.cache;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+
+/**
+ * Caffeine expiry with a jittered time-to-live, renewed on every write.
+ * <p>
+ * Reads do not extend the lifetime, matching {@code expireAfterWrite}. Using a
+ * variable expiry also exposes each entry's remaining lifetime, which
+ * {@link CacheRefresher} uses to refresh hot entries ahead of expiry.
+ * </p>
+ */
+public class JitteredExpiry implements Expiry<Object, Object> {
+
+    private final long ttlNanos;
+
+    private final TtlJitter jitter;
+
+    public JitteredExpiry(Duration ttl, TtlJitter jitter) {
+        this.ttlNanos = ttl.toNanos();
+        this.jitter = jitter;
+    }
+
+    @Override
+    public long expireAfterCreate(Object key, Object value, long currentTime) {
+        return jitter.applyNanos(ttlNanos);
+    }
+
+    @Override
+    public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+        return jitter.applyNanos(ttlNanos);
+    }
+
+    @Override
+    public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
@@ -0,0 +1,69 @@
+package com.coremvc.cache;
+
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Applies {@link TtlJitter} to every Redis cache write.
+ * <p>
+ * The per-cache TTLs configured on the {@code RedisCacheManager} stay the mean TTL;
+ * each entry gets its own randomized expiry around it.
+ * </p>
+ */
+public class JitteredRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+
+    private final TtlJitter jitter;
+
+    public JitteredRedisCacheWriter(RedisCacheWriter delegate, TtlJitter jitter) {
+        this.delegate = delegate;
+        this.jitter = jitter;
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        delegate.put(name, key, value, jitter.apply(ttl));
+    }
+
+    @Override
+    @Nullable
+    public byte[] get(String name, byte[] key) {
+        return delegate.get(name, key);
+    }
+
+    @Override
+    @Nullable
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        return delegate.putIfAbsent(name, key, value, jitter.apply(ttl));
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        delegate.remove(name, key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new JitteredRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector), jitter);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+}
@@ -0,0 +1,96 @@
+package com.coremvc.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the serialized size of Redis cache values.
+ * <p>
+ * Distribution summary {@code cache.redis.value.size} (bytes), tags {@code cache} and
+ * {@code operation} ({@code get} for hits, {@code put}). Hit/miss/put/removal counts
+ * come from the cache manager's statistics, see {@code CacheMetricsConfig}.
+ * </p>
+ */
+public class MeteredRedisCacheWriter implements RedisCacheWriter {
+
+    private final RedisCacheWriter delegate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public MeteredRedisCacheWriter(RedisCacheWriter delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        delegate.put(name, key, value, ttl);
+        record(name, "put", value);
+    }
+
+    @Override
+    @Nullable
+    public byte[] get(String name, byte[] key) {
+        byte[] value = delegate.get(name, key);
+        record(name, "get", value);
+        return value;
+    }
+
+    @Override
+    @Nullable
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        byte[] existing = delegate.putIfAbsent(name, key, value, ttl);
+        if (existing == null) {
+            record(name, "put", value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        delegate.remove(name, key);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        delegate.clean(name, pattern);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        delegate.clearStatistics(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new MeteredRedisCacheWriter(delegate.withStatisticsCollector(cacheStatisticsCollector), meterRegistry);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return delegate.getCacheStatistics(cacheName);
+    }
+
+    private void record(String name, String operation, @Nullable byte[] value) {
+        if (value == null) {
+            return;
+        }
+        summaries.computeIfAbsent(name + "|" + operation, id -> DistributionSummary.builder("cache.redis.value.size")
+                        .description("Serialized size of Redis cache values")
+                        .baseUnit("bytes")
+                        .tag("cache", name)
+                        .tag("operation", operation)
+                        .register(meterRegistry))
+                .record(value.length);
+    }
+}
@@ -0,0 +1,98 @@
+package com.coremvc.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Cache-aside for paginated list queries, with hit/miss counters per query shape.
+ * <p>
+ * Keys are {@code <generation>-<shape>:<key>}, where the generation comes from
+ * {@link CacheGenerations} for the cache's namespace, so advancing it invalidates every
+ * shape at once. Only page sizes in {@code cacheablePageSizes} are cached; other sizes
+ * bypass the cache, which keeps clients with arbitrary sizes from fragmenting it.
+ * Loads go through {@link Cache#get(Object, java.util.concurrent.Callable)}, so misses
+ * are coalesced and hot entries refreshed ahead of expiry.
+ * </p>
+ * <p>
+ * Counter {@code cache.query.requests}, tags {@code cache}, {@code shape} and
+ * {@code result} ({@code hit}, {@code miss} or {@code bypass}).
+ * </p>
+ */
+public class QueryResultCache {
+
+    private final CacheManager cacheManager;
+
+    private final CacheGenerations cacheGenerations;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Set<Integer> cacheablePageSizes;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public QueryResultCache(CacheManager cacheManager, CacheGenerations cacheGenerations,
+                            MeterRegistry meterRegistry, Set<Integer> cacheablePageSizes) {
+        this.cacheManager = cacheManager;
+        this.cacheGenerations = cacheGenerations;
+        this.meterRegistry = meterRegistry;
+        this.cacheablePageSizes = Set.copyOf(cacheablePageSizes);
+    }
+
+    /**
+     * Returns the cached result of a query, loading and caching it on a miss.
+     *
+     * @param cacheName cache, also the generation namespace
+     * @param shape     query shape, e.g. {@code search}; used as key prefix and metric tag
+     * @param key       normalized query parameters
+     * @param pageSize  requested page size
+     * @param loader    runs the query
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String cacheName, String shape, String key, int pageSize, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || !cacheablePageSizes.contains(pageSize)) {
+            counter(cacheName, shape, "bypass").increment();
+            return loader.get();
+        }
+
+        AtomicBoolean loaded = new AtomicBoolean();
+        String cacheKey = cacheGenerations.current(cacheName) + "-" + shape + ":" + key;
+        T value;
+        try {
+            value = (T) cache.get(cacheKey, () -> {
+                loaded.set(true);
+                return loader.get();
+            });
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        counter(cacheName, shape, loaded.get() ? "miss" : "hit").increment();
+        return value;
+    }
+
+    public double hitRate(String cacheName, String shape) {
+        double hits = counter(cacheName, shape, "hit").count();
+        double misses = counter(cacheName, shape, "miss").count();
+        return hits + misses == 0 ? 0 : hits / (hits + misses);
+    }
+
+    private Counter counter(String cacheName, String shape, String result) {
+        return counters.computeIfAbsent(cacheName + "|" + shape + "|" + result, id -> Counter.builder("cache.query.requests")
+                .description("List query cache lookups by query shape")
+                .tag("cache", cacheName)
+                .tag("shape", shape)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,129 @@
+package com.coremvc.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis pub/sub subscriptions that never hold up startup.
+ * <p>
+ * A {@link RedisMessageListenerContainer} fails the application start if Redis cannot be
+ * reached. Here the container is started in the background instead, and a failed attempt
+ * is discarded and retried every {@code recoveryInterval}. Until the subscription is up,
+ * the instance simply does not receive messages: L1 entries expire with their TTL and
+ * revocations are found through the periodic rebuild from Redis. Once subscribed, the
+ * container re-subscribes by itself after a disconnect, using the same interval.
+ * </p>
+ */
+@Slf4j
+public class RedisSubscriptions implements SmartLifecycle {
+
+    private record Registration(MessageListener listener, Topic topic) {
+    }
+
+    private final RedisConnectionFactory connectionFactory;
+
+    private final Duration recoveryInterval;
+
+    private final List<Registration> registrations = new ArrayList<>();
+
+    private final ScheduledExecutorService subscriber = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "redis-subscriptions");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private RedisMessageListenerContainer container;
+
+    private volatile boolean running;
+
+    private int failedAttempts;
+
+    public RedisSubscriptions(RedisConnectionFactory connectionFactory, Duration recoveryInterval) {
+        this.connectionFactory = connectionFactory;
+        this.recoveryInterval = recoveryInterval;
+    }
+
+    /**
+     * Subscribes a listener, now if the container is up, otherwise as soon as it is.
+     */
+    public synchronized void addMessageListener(MessageListener listener, Topic topic) {
+        registrations.add(new Registration(listener, topic));
+        if (container != null) {
+            container.addMessageListener(listener, topic);
+        }
+    }
+
+    /**
+     * Whether the subscriptions are established; {@code false} while Redis has not been reached yet.
+     */
+    public synchronized boolean isSubscribed() {
+        return container != null && container.isListening();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        subscriber.execute(this::subscribe);
+    }
+
+    private synchronized void subscribe() {
+        if (!running || container != null) {
+            return;
+        }
+        RedisMessageListenerContainer candidate = new RedisMessageListenerContainer();
+        candidate.setConnectionFactory(connectionFactory);
+        candidate.setRecoveryInterval(recoveryInterval.toMillis());
+        registrations.forEach(registration -> candidate.addMessageListener(registration.listener(), registration.topic()));
+        try {
+            candidate.afterPropertiesSet();
+            candidate.start();
+            container = candidate;
+            log.info("Subscribed to {} Redis channel(s)", registrations.size());
+        } catch (RuntimeException e) {
+            destroy(candidate);
+            // Warn once; Redis being down is already reported by the RemoteCacheGuard
+            if (failedAttempts++ == 0) {
+                log.warn("Redis subscriptions unavailable, retrying every {}: {}", recoveryInterval, e.getMessage());
+            }
+            if (running) {
+                subscriber.schedule(this::subscribe, recoveryInterval.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        subscriber.shutdownNow();
+        synchronized (this) {
+            if (container != null) {
+                destroy(container);
+                container = null;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private static void destroy(RedisMessageListenerContainer candidate) {
+        try {
+            candidate.destroy();
+        } catch (Exception e) {
+            log.debug("Closing Redis listener container failed: {}", e.getMessage());
+        }
+    }
+}
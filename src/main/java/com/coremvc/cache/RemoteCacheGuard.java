@@ -0,0 +1,77 @@
+package com.coremvc.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Shields callers from an unavailable L2 (Redis) cache.
+ * <p>
+ * The first failure opens the circuit for {@code retryInterval}; until it closes again
+ * L2 calls are skipped and the two-level cache behaves like a plain L1 cache. One
+ * warning is logged per outage instead of one per request. A value that cannot be
+ * deserialized is treated as a miss without opening the circuit.
+ * </p>
+ */
+@Slf4j
+public class RemoteCacheGuard {
+
+    private final Duration retryInterval;
+
+    private volatile long openUntilNanos;
+
+    private volatile boolean open;
+
+    public RemoteCacheGuard(Duration retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+
+    /**
+     * Runs an L2 operation.
+     *
+     * @param cacheName the cache, for logging
+     * @param operation the operation
+     * @param fallback  returned when L2 is skipped or fails
+     * @return the operation's result, or {@code fallback}
+     */
+    public <T> T call(String cacheName, Supplier<T> operation, T fallback) {
+        if (open && System.nanoTime() - openUntilNanos < 0) {
+            return fallback;
+        }
+        try {
+            T result = operation.get();
+            if (open) {
+                open = false;
+                log.info("L2 cache is reachable again");
+            }
+            return result;
+        } catch (SerializationException e) {
+            log.warn("Unreadable L2 entry in cache [{}], treating as a miss: {}", cacheName, e.getMessage());
+            return fallback;
+        } catch (RuntimeException e) {
+            openUntilNanos = System.nanoTime() + retryInterval.toNanos();
+            if (!open) {
+                open = true;
+                log.warn("L2 cache unavailable (cache [{}]), serving from L1 only for the next {}s: {}",
+                        cacheName, retryInterval.toSeconds(), e.getMessage());
+            }
+            return fallback;
+        }
+    }
+
+    /**
+     * Runs an L2 operation that returns nothing.
+     */
+    public void run(String cacheName, Runnable operation) {
+        call(cacheName, () -> {
+            operation.run();
+            return null;
+        }, null);
+    }
+
+    public boolean isOpen() {
+        return open && System.nanoTime() - openUntilNanos < 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.coremvc.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads expiry times so entries written together do not expire together.
+ * <p>
+ * A TTL is scaled by a random factor in {@code [1 - fraction, 1 + fraction]}, e.g.
+ * 20 minutes with a fraction of 0.25 becomes 15-25 minutes.
+ * </p>
+ */
+public class TtlJitter {
+
+    private final double fraction;
+
+    public TtlJitter(double fraction) {
+        if (fraction < 0 || fraction >= 1) {
+            throw new IllegalArgumentException("TTL jitter must be in [0, 1): " + fraction);
+        }
+        this.fraction = fraction;
+    }
+
+    public Duration apply(Duration ttl) {
+        if (ttl == null || ttl.isZero() || ttl.isNegative() || fraction == 0) {
+            return ttl;
+        }
+        return Duration.ofNanos(applyNanos(ttl.toNanos()));
+    }
+
+    public long applyNanos(long ttlNanos) {
+        if (fraction == 0) {
+            return ttlNanos;
+        }
+        double factor = 1 + ThreadLocalRandom.current().nextDouble(-fraction, fraction);
+        return Math.max(1, (long) (ttlNanos * factor));
+    }
+}
@@ -0,0 +1,327 @@
+package com.coremvc.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A read-through cache with a per-instance L1 in front of a shared L2.
+ * <p>
+ * Reads try L1, then L2, and copy an L2 hit into L1 (backfill). Writes go to both
+ * tiers. Evictions remove from L2 first and L1 second, so a concurrent read cannot
+ * refill L1 from an L2 entry that is about to disappear. L2 calls go through a
+ * {@link RemoteCacheGuard}; when L2 is down the cache degrades to L1 only.
+ * </p>
+ * <p>
+ * Explicit writes ({@link #put}, e.g. {@code @CachePut}), evictions and clears are also
+ * announced on the {@link CacheInvalidationBus}, which removes the entries from the L1
+ * caches of the other instances. Values loaded from the source on a miss or refreshed
+ * ahead of expiry are stored without an announcement: the source did not change, so the
+ * other instances' copies are still valid. A backfill or refresh is skipped if the key
+ * was invalidated while L2 or the source was being read.
+ * </p>
+ * <p>
+ * {@link #get(Object, Callable)} (used by {@code @Cacheable(sync = true)}) loads each
+ * missing key once per instance: concurrent callers wait for the first caller's result.
+ * With a {@link DistributedLoadLock} enabled, instances also coordinate through Redis so
+ * only one of them hits the database while the others wait for the value in L2. Hits
+ * on entries close to expiry trigger a background reload (see {@link CacheRefresher}).
+ * </p>
+ * <p>
+ * Null values are kept in L1 only, because the Redis caches are configured not to
+ * store nulls.
+ * </p>
+ */
+@Slf4j
+public class TwoLevelCache implements Cache {
+
+    private final String name;
+
+    private final Cache local;
+
+    private final Cache remote;
+
+    private final RemoteCacheGuard guard;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final DistributedLoadLock loadLock;
+
+    private final CacheRefresher refresher;
+
+    // cache.twolevel.load timers, built once: [load, refresh] x [success, failure]
+    private final Timer loadSuccess;
+
+    private final Timer loadFailure;
+
+    private final Timer refreshSuccess;
+
+    private final Timer refreshFailure;
+
+    private final Map<Object, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final Set<Object> refreshing = ConcurrentHashMap.newKeySet();
+
+    public TwoLevelCache(String name, Cache local, Cache remote, RemoteCacheGuard guard,
+                         CacheInvalidationBus invalidationBus, DistributedLoadLock loadLock,
+                         CacheRefresher refresher, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.guard = guard;
+        this.invalidationBus = invalidationBus;
+        this.loadLock = loadLock;
+        this.refresher = refresher;
+        this.loadSuccess = loadTimer(meterRegistry, "load", "success");
+        this.loadFailure = loadTimer(meterRegistry, "load", "failure");
+        this.refreshSuccess = loadTimer(meterRegistry, "refresh", "success");
+        this.refreshFailure = loadTimer(meterRegistry, "refresh", "failure");
+    }
+
+    private Timer loadTimer(MeterRegistry meterRegistry, String mode, String result) {
+        return Timer.builder("cache.twolevel.load")
+                .description("Loads of missing (load) or expiring (refresh) entries from the source")
+                .tag("cache", name)
+                .tag("mode", mode)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    public Cache getLocalCache() {
+        return local;
+    }
+
+    public Cache getRemoteCache() {
+        return remote;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = local.get(key);
+        if (value != null) {
+            return value;
+        }
+        long stamp = invalidationBus.stamp(name, key);
+        value = guard.call(name, () -> remote.get(key), null);
+        if (value != null && invalidationBus.stamp(name, key) == stamp) {
+            local.put(key, value.get());
+        }
+        return value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            if (refresher.isDue(local, key)) {
+                refreshAsync(key, valueLoader);
+            }
+            return (T) wrapper.get();
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = loading.putIfAbsent(key, flight);
+        if (leader != null) {
+            return (T) await(leader);
+        }
+        try {
+            // Re-check: another flight may have completed between the miss and putIfAbsent
+            wrapper = get(key);
+            Object value = wrapper != null ? wrapper.get() : load(key, valueLoader);
+            flight.complete(value);
+            return (T) value;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, flight);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // The leader's exception, e.g. a ValueRetrievalException wrapping ResourceNotFoundException
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) {
+        String token = loadLock.tryAcquire(name, key);
+        if (token == null) {
+            ValueWrapper loaded = awaitRemote(key);
+            if (loaded != null) {
+                return loaded.get();
+            }
+        }
+        try {
+            Object value;
+            try {
+                value = callLoader(valueLoader, false);
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            store(key, value);
+            return value;
+        } finally {
+            loadLock.release(name, key, token);
+        }
+    }
+
+    // The loader was not used for this hit, so it can still be invoked from another thread
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        if (!refreshing.add(key)) {
+            return;
+        }
+        boolean submitted = refresher.submit(() -> {
+            try {
+                long stamp = invalidationBus.stamp(name, key);
+                Object value = callLoader(valueLoader, true);
+                // Skip if the key was written or evicted meanwhile; the loaded value may be older
+                if (invalidationBus.stamp(name, key) == stamp) {
+                    store(key, value);
+                }
+            } catch (Exception e) {
+                log.warn("Refresh-ahead of key [{}] in cache [{}] failed: {}", key, name, e.getMessage());
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+        if (!submitted) {
+            refreshing.remove(key);
+        }
+    }
+
+    private Object callLoader(Callable<?> valueLoader, boolean refresh) throws Exception {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object value = valueLoader.call();
+            success = true;
+            return value;
+        } finally {
+            Timer timer = refresh
+                    ? (success ? refreshSuccess : refreshFailure)
+                    : (success ? loadSuccess : loadFailure);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Another instance holds the load lock: poll L2 until its value shows up or the lock expires
+    @Nullable
+    private ValueWrapper awaitRemote(Object key) {
+        long deadline = System.nanoTime() + loadLock.getTtl().toNanos();
+        while (System.nanoTime() - deadline < 0) {
+            try {
+                Thread.sleep(loadLock.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            if (guard.isOpen()) {
+                return null;
+            }
+            ValueWrapper value = guard.call(name, () -> remote.get(key), null);
+            if (value != null) {
+                local.put(key, value.get());
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        store(key, value);
+        // Other instances may hold an older value for the key; they reload it from L2
+        invalidationBus.evicted(name, key);
+    }
+
+    // Writes both tiers without telling other instances; for values read from the unchanged source
+    private void store(Object key, @Nullable Object value) {
+        if (value != null) {
+            guard.run(name, () -> remote.put(key, value));
+        }
+        local.put(key, value);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        ValueWrapper existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        guard.run(name, () -> remote.evict(key));
+        local.evict(key);
+        invalidationBus.evicted(name, key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean remoteEvicted = guard.call(name, () -> remote.evictIfPresent(key), false);
+        boolean localEvicted = local.evictIfPresent(key);
+        invalidationBus.evicted(name, key);
+        return localEvicted || remoteEvicted;
+    }
+
+    @Override
+    public void clear() {
+        guard.run(name, remote::clear);
+        local.clear();
+        invalidationBus.cleared(name);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean remoteInvalidated = guard.call(name, remote::invalidate, false);
+        boolean localInvalidated = local.invalidate();
+        invalidationBus.cleared(name);
+        return localInvalidated || remoteInvalidated;
+    }
+}
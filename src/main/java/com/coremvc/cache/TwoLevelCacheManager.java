@@ -0,0 +1,71 @@
+package com.coremvc.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cache manager that pairs every L1 cache with the L2 cache of the same name.
+ * <p>
+ * Replaces a {@code CompositeCacheManager}, which returns the first manager that knows
+ * a name and therefore never consults the second tier. Names known to either manager,
+ * or requested later, all get both tiers. Puts and evictions made inside a transaction
+ * are applied after commit.
+ * </p>
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager {
+
+    private final CacheManager localCacheManager;
+
+    private final CacheManager remoteCacheManager;
+
+    private final RemoteCacheGuard guard;
+
+    private final CacheInvalidationBus invalidationBus;
+
+    private final DistributedLoadLock loadLock;
+
+    private final CacheRefresher refresher;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Collection<String> initialCacheNames;
+
+    public TwoLevelCacheManager(CacheManager localCacheManager, CacheManager remoteCacheManager,
+                                RemoteCacheGuard guard, CacheInvalidationBus invalidationBus,
+                                DistributedLoadLock loadLock, CacheRefresher refresher,
+                                MeterRegistry meterRegistry, Collection<String> initialCacheNames) {
+        this.localCacheManager = localCacheManager;
+        this.remoteCacheManager = remoteCacheManager;
+        this.guard = guard;
+        this.invalidationBus = invalidationBus;
+        this.loadLock = loadLock;
+        this.refresher = refresher;
+        this.meterRegistry = meterRegistry;
+        this.initialCacheNames = List.copyOf(initialCacheNames);
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return initialCacheNames.stream().map(this::createCache).toList();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    private Cache createCache(String name) {
+        Cache local = localCacheManager.getCache(name);
+        Cache remote = remoteCacheManager.getCache(name);
+        if (local == null || remote == null) {
+            return local != null ? local : remote;
+        }
+        return new TwoLevelCache(name, local, remote, guard, invalidationBus, loadLock, refresher, meterRegistry);
+    }
+}
@@ -1,63 +1,138 @@
 package com.coremvc.config;
 
+import com.coremvc.cache.CacheGenerations;
+import com.coremvc.cache.CacheInvalidationBus;
+import com.coremvc.cache.CacheRefresher;
+import com.coremvc.cache.DistributedLoadLock;
+import com.coremvc.cache.EstimatedSizeWeigher;
+import com.coremvc.cache.JitteredExpiry;
+import com.coremvc.cache.JitteredRedisCacheWriter;
+import com.coremvc.cache.MeteredRedisCacheWriter;
+import com.coremvc.cache.QueryResultCache;
+import com.coremvc.cache.RedisSubscriptions;
+import com.coremvc.cache.RemoteCacheGuard;
+import com.coremvc.cache.TtlJitter;
+import com.coremvc.cache.TwoLevelCacheManager;
+import com.coremvc.cache.VersionedBinaryRedisSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
-import org.springframework.cache.support.CompositeCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
-import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(L1CacheProperties.class)
 public class CacheConfig {
 
+    /**
+     * Cache names created eagerly; other names are created on first use.
+     */
+    static final List<String> CACHE_NAMES = List.of(
+            "products",
+            "product::page",
+            "categories",
+            "category::list",
+            "settings",
+            "setting::list",
+            "users",
+            "user::list",
+            "user::email"
+    );
+
+    /**
+     * Randomizes every L1 and L2 TTL by +/- cache.ttl-jitter so entries written together expire apart
+     */
+    @Bean
+    public TtlJitter ttlJitter(@Value("${cache.ttl-jitter:0.2}") double fraction) {
+        return new TtlJitter(fraction);
+    }
+
     /**
      * L1 Cache: Caffeine in-memory cache
-     * Fast, per-instance cache for hot data
+     * Fast, per-instance cache for hot data, bounded by estimated retained heap per cache (cache.l1.*)
      */
     @Bean
-    public CaffeineCacheManager caffeineCacheManager() {
+    public CaffeineCacheManager caffeineCacheManager(TtlJitter ttlJitter, L1CacheProperties l1Properties) {
+        Set<String> cacheNames = new LinkedHashSet<>(CACHE_NAMES);
+        cacheNames.addAll(l1Properties.getCaches().keySet());
+
+        long reserved = cacheNames.stream()
+                .mapToLong(name -> l1Properties.specFor(name).getMaximumWeight().toBytes())
+                .sum();
+        if (reserved > l1Properties.getBudget().toBytes()) {
+            throw new IllegalStateException("L1 cache maximum weights add up to " + reserved
+                    + " bytes, more than cache.l1.budget (" + l1Properties.getBudget().toBytes() + " bytes)");
+        }
+
+        // Caches created on demand get the default spec
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(1000) // Max entries per cache
-                .expireAfterWrite(5, TimeUnit.MINUTES) // Default TTL
-                .recordStats() // Enable metrics
-        );
-        
-        // Register metrics
-        cacheManager.setCacheNames(Arrays.asList(
-                "products", 
-                "categories", 
-                "settings", 
-                "users",
-                "product::page"
-        ));
-        
+        cacheManager.setCaffeine(l1Caffeine(l1Properties.getDefaults(), ttlJitter));
+
+        for (String name : cacheNames) {
+            cacheManager.registerCustomCache(name, l1Caffeine(l1Properties.specFor(name), ttlJitter).build());
+        }
+
         return cacheManager;
     }
 
+    private static Caffeine<Object, Object> l1Caffeine(L1CacheProperties.Spec spec, TtlJitter ttlJitter) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .maximumWeight(spec.getMaximumWeight().toBytes()) // Estimated bytes, not entries
+                .weigher(new EstimatedSizeWeigher())
+                .expireAfter(new JitteredExpiry(spec.getTtl(), ttlJitter)) // TTL, jittered per entry
+                .recordStats(); // Enable metrics
+        if (Boolean.TRUE.equals(spec.getSoftValues())) {
+            caffeine.softValues();
+        }
+        return caffeine;
+    }
+
     /**
      * Create ObjectMapper with Java 8 date/time support
      */
-    private ObjectMapper createRedisObjectMapper() {
-        ObjectMapper mapper = new ObjectMapper();
+    static ObjectMapper createRedisObjectMapper() {
+        return configureRedisObjectMapper(new ObjectMapper());
+    }
+
+    /**
+     * Create the Smile (binary JSON) ObjectMapper for binary cache values
+     * Shared string values write each embedded type id once per value
+     */
+    static ObjectMapper createBinaryRedisObjectMapper() {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return configureRedisObjectMapper(new ObjectMapper(smileFactory));
+    }
+
+    private static ObjectMapper configureRedisObjectMapper(ObjectMapper mapper) {
         mapper.registerModule(new JavaTimeModule());
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
         mapper.activateDefaultTyping(
@@ -72,7 +147,13 @@ public class CacheConfig {
      * Shared across instances, persistent
      */
     @Bean
-    public RedisCacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    public RedisCacheManager redisCacheManager(
+            RedisConnectionFactory connectionFactory,
+            TtlJitter ttlJitter,
+            MeterRegistry meterRegistry,
+            @Value("${cache.serialization.binary-caches:}") List<String> binaryCaches,
+            @Value("${cache.serialization.schema-version:1}") int schemaVersion,
+            @Value("${cache.serialization.compression-threshold:1024}") int compressionThreshold) {
         // Create serializer with JSR-310 support
         GenericJackson2JsonRedisSerializer jsonSerializer = 
                 new GenericJackson2JsonRedisSerializer(createRedisObjectMapper());
@@ -87,7 +168,8 @@ public class CacheConfig {
         // Per-cache TTL configurations
         Map<String, RedisCacheConfiguration> cacheConfigs = new HashMap<>();
         
-        // Products: 15-30 min with jitter
+        // TTLs below are means; each entry gets +/- cache.ttl-jitter
+        // Products: 15-30 min
         cacheConfigs.put("products", defaultConfig.entryTtl(Duration.ofMinutes(20)));
         cacheConfigs.put("product::page", defaultConfig.entryTtl(Duration.ofMinutes(5)));
         
@@ -101,31 +183,177 @@ public class CacheConfig {
         
         // Users: 5-10 min (short TTL for security)
         cacheConfigs.put("users", defaultConfig.entryTtl(Duration.ofMinutes(7)));
+        cacheConfigs.put("user::list", defaultConfig.entryTtl(Duration.ofMinutes(7)));
         cacheConfigs.put("user::email", defaultConfig.entryTtl(Duration.ofMinutes(7)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        // Binary caches: versioned Smile values under a versioned key prefix, so releases
+        // with different schema versions never read or overwrite each other's entries
+        VersionedBinaryRedisSerializer binarySerializer = new VersionedBinaryRedisSerializer(
+                createBinaryRedisObjectMapper(), schemaVersion, compressionThreshold);
+        for (String cacheName : binaryCaches) {
+            String name = cacheName.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            cacheConfigs.put(name, cacheConfigs.getOrDefault(name, defaultConfig)
+                    .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(binarySerializer))
+                    .computePrefixWith(prefixName -> prefixName + "::v" + binarySerializer.getVersion() + "::"));
+        }
+
+        // Transaction awareness is applied once, around both tiers, by the two-level manager
+        RedisCacheWriter cacheWriter = new MeteredRedisCacheWriter(new JitteredRedisCacheWriter(
+                RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory), ttlJitter), meterRegistry);
+
+        return RedisCacheManager.builder(cacheWriter)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigs)
-                .transactionAware() // Enable transaction support
+                .enableStatistics() // Hit/miss/put/removal counts for the actuator cache metrics
                 .build();
     }
 
     /**
-     * Composite Cache Manager: L1 (Caffeine) + L2 (Redis)
-     * Checks L1 first, then L2, fallback to source
+     * Tracks Redis availability for both the L2 caches and the invalidation channel
+     */
+    @Bean
+    public RemoteCacheGuard remoteCacheGuard(@Value("${cache.l2.retry-interval:10s}") Duration l2RetryInterval) {
+        return new RemoteCacheGuard(l2RetryInterval);
+    }
+
+    /**
+     * Invalidation bus: propagates L1 evictions to the other instances over Redis pub/sub
+     */
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(
+            CaffeineCacheManager caffeineCacheManager,
+            StringRedisTemplate stringRedisTemplate,
+            RemoteCacheGuard remoteCacheGuard,
+            @Value("${cache.invalidation.channel:coremvc:cache-invalidation}") String channel,
+            @Value("${cache.invalidation.batch-window:50ms}") Duration batchWindow,
+            @Value("${cache.invalidation.max-batch-size:500}") int maxBatchSize) {
+
+        // JSON with type-tagged keys; never Java deserialization of what arrives on the channel
+        return new CacheInvalidationBus(caffeineCacheManager, stringRedisTemplate, remoteCacheGuard,
+                channel, batchWindow, maxBatchSize);
+    }
+
+    /**
+     * Pub/sub subscriptions (invalidation bus, token revocations), started in the background
+     * so the application also starts while Redis is down
+     */
+    @Bean
+    public RedisSubscriptions redisSubscriptions(
+            RedisConnectionFactory connectionFactory,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${cache.invalidation.channel:coremvc:cache-invalidation}") String channel,
+            @Value("${cache.invalidation.recovery-interval:5s}") Duration recoveryInterval) {
+
+        RedisSubscriptions subscriptions = new RedisSubscriptions(connectionFactory, recoveryInterval);
+        subscriptions.addMessageListener(cacheInvalidationBus, new ChannelTopic(channel));
+        return subscriptions;
+    }
+
+    /**
+     * Generation counters for list caches (product::page, category::list, setting::list, user::list)
+     * Advancing a generation replaces allEntries evictions; old entries expire with their TTL
+     */
+    @Bean
+    public CacheGenerations cacheGenerations(
+            CaffeineCacheManager caffeineCacheManager,
+            StringRedisTemplate stringRedisTemplate,
+            RemoteCacheGuard remoteCacheGuard,
+            CacheInvalidationBus cacheInvalidationBus,
+            @Value("${cache.generation.local-ttl:60s}") Duration localTtl) {
+
+        // Local copies of the counters; short TTL in case an invalidation message is lost
+        caffeineCacheManager.registerCustomCache(CacheGenerations.CACHE_NAME, Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build());
+
+        return new CacheGenerations(
+                caffeineCacheManager.getCache(CacheGenerations.CACHE_NAME),
+                stringRedisTemplate,
+                remoteCacheGuard,
+                cacheInvalidationBus,
+                "coremvc:generation:"
+        );
+    }
+
+    /**
+     * Optional cross-instance lock so only one instance loads a missing hot key
+     */
+    @Bean
+    public DistributedLoadLock distributedLoadLock(
+            StringRedisTemplate stringRedisTemplate,
+            RemoteCacheGuard remoteCacheGuard,
+            @Value("${cache.single-flight.remote-lock.enabled:false}") boolean enabled,
+            @Value("${cache.single-flight.remote-lock.ttl:3s}") Duration ttl,
+            @Value("${cache.single-flight.remote-lock.poll-interval:25ms}") Duration pollInterval) {
+
+        return new DistributedLoadLock(stringRedisTemplate, remoteCacheGuard, enabled, ttl, pollInterval, "coremvc:lock:");
+    }
+
+    /**
+     * Refresh-ahead: hot entries are reloaded in the background shortly before their L1 expiry
+     */
+    @Bean
+    public CacheRefresher cacheRefresher(
+            L1CacheProperties l1Properties,
+            @Value("${cache.refresh-ahead.window:60s}") Duration window,
+            @Value("${cache.refresh-ahead.threads:2}") int threads,
+            @Value("${cache.refresh-ahead.queue-capacity:1000}") int queueCapacity) {
+
+        // cache.l1 refresh settings override the global window
+        Duration defaultWindow = l1Properties.getDefaults().getRefresh() != null
+                ? l1Properties.getDefaults().getRefresh() : window;
+        Map<String, Duration> windowsByCache = new HashMap<>();
+        l1Properties.getCaches().forEach((name, spec) -> {
+            if (spec.getRefresh() != null) {
+                windowsByCache.put(name, spec.getRefresh());
+            }
+        });
+
+        return new CacheRefresher(defaultWindow, windowsByCache, threads, queueCapacity);
+    }
+
+    /**
+     * Cache-aside for public product list queries (by category, search), with per-shape hit/miss counters
+     */
+    @Bean
+    public QueryResultCache queryResultCache(
+            CacheManager cacheManager,
+            CacheGenerations cacheGenerations,
+            MeterRegistry meterRegistry,
+            @Value("${cache.query.page-sizes:10,12,20,24,50,100}") Set<Integer> pageSizes) {
+
+        return new QueryResultCache(cacheManager, cacheGenerations, meterRegistry, pageSizes);
+    }
+
+    /**
+     * Two-level Cache Manager: L1 (Caffeine) in front of L2 (Redis)
+     * Reads L1, then L2 (backfilling L1), then the source; writes and evictions hit both
      */
     @Bean
     @Primary
-    public CacheManager compositeCacheManager(
+    public CacheManager cacheManager(
             CaffeineCacheManager caffeineCacheManager,
-            RedisCacheManager redisCacheManager) {
-        
-        CompositeCacheManager cacheManager = new CompositeCacheManager(
-                caffeineCacheManager, // L1: Check first
-                redisCacheManager      // L2: Fallback
+            RedisCacheManager redisCacheManager,
+            RemoteCacheGuard remoteCacheGuard,
+            CacheInvalidationBus cacheInvalidationBus,
+            DistributedLoadLock distributedLoadLock,
+            CacheRefresher cacheRefresher,
+            MeterRegistry meterRegistry) {
+
+        return new TwoLevelCacheManager(
+                caffeineCacheManager,
+                redisCacheManager,
+                remoteCacheGuard,
+                cacheInvalidationBus,
+                distributedLoadLock,
+                cacheRefresher,
+                meterRegistry,
+                CACHE_NAMES
         );
-        cacheManager.setFallbackToNoOpCache(false); // Fail if cache miss (go to source)
-        
-        return cacheManager;
     }
 }
@@ -1,53 +1,85 @@
 package com.coremvc.config;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
+import com.coremvc.cache.CacheInvalidationBus;
+import com.github.benmanes.caffeine.cache.Policy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
 
 /**
  * Cache metrics and monitoring configuration.
- * Provides observability for cache hit/miss ratios and performance.
+ * <p>
+ * Spring Boot Actuator binds every Caffeine (L1) and Redis (L2) cache to the
+ * {@code MeterRegistry}, tagged with {@code cache} and {@code cache.manager}
+ * ({@code caffeine} or {@code redis}, the bean name without "CacheManager"): {@code cache.gets}
+ * (hit/miss), {@code cache.puts}, {@code cache.evictions} / {@code cache.removals}
+ * and {@code cache.size}. L1 memory is reported as {@code cache.l1.weight} (estimated
+ * retained bytes) against {@code cache.l1.weight.max} and {@code cache.l1.budget}. The
+ * two-level caches add {@code cache.twolevel.load}
+ * (load and refresh latency), {@code cache.redis.value.size} (serialized bytes) and
+ * {@code cache.query.requests} (list query hit rate per shape). Everything is
+ * exposed at {@code /actuator/prometheus}.
+ * </p>
  */
 @Configuration
-@EnableScheduling
-@RequiredArgsConstructor
-@Slf4j
 public class CacheMetricsConfig {
 
-    private final CacheManager cacheManager;
-
     /**
-     * Log cache statistics periodically for monitoring
+     * Invalidation bus counters: batches published, entries applied from other instances, batches missed
      */
-    @Scheduled(fixedRate = 60000) // Every 1 minute
-    public void logCacheStatistics() {
-        if (cacheManager == null) {
-            return;
-        }
+    @Bean
+    public MeterBinder cacheInvalidationMetrics(CacheInvalidationBus cacheInvalidationBus) {
+        return registry -> {
+            FunctionCounter.builder("cache.invalidation.published", cacheInvalidationBus,
+                            CacheInvalidationBus::getPublishedBatches)
+                    .description("Invalidation batches published to other instances")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.applied", cacheInvalidationBus,
+                            CacheInvalidationBus::getAppliedEntries)
+                    .description("Invalidations received from other instances and applied to L1")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.missed", cacheInvalidationBus,
+                            CacheInvalidationBus::getMissedBatches)
+                    .description("Invalidation batches lost in transit; each loss clears all L1 caches")
+                    .register(registry);
+        };
+    }
 
-        cacheManager.getCacheNames().forEach(cacheName -> {
-            org.springframework.cache.Cache cache = cacheManager.getCache(cacheName);
-            if (cache instanceof CaffeineCache) {
-                CaffeineCache caffeineCache = (CaffeineCache) cache;
-                Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
-                
-                com.github.benmanes.caffeine.cache.stats.CacheStats stats = nativeCache.stats();
-                
-                double hitRate = stats.hitRate() * 100;
-                log.info("Cache [{}] - Hits: {}, Misses: {}, Hit Rate: {:.2f}%, Evictions: {}, Load Time: {}ms",
-                        cacheName,
-                        stats.hitCount(),
-                        stats.missCount(),
-                        String.format("%.2f", hitRate),
-                        stats.evictionCount(),
-                        stats.averageLoadPenalty() / 1_000_000 // Convert to ms
-                );
+    /**
+     * L1 memory: estimated bytes retained per cache, its maximum weight, and the total budget
+     */
+    @Bean
+    public MeterBinder l1CacheWeightMetrics(CaffeineCacheManager caffeineCacheManager, L1CacheProperties l1Properties) {
+        return registry -> {
+            Gauge.builder("cache.l1.budget", l1Properties, properties -> properties.getBudget().toBytes())
+                    .description("Heap the L1 caches may retain in total")
+                    .baseUnit("bytes")
+                    .register(registry);
+            for (String name : caffeineCacheManager.getCacheNames()) {
+                Cache cache = caffeineCacheManager.getCache(name);
+                if (cache == null || !(cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache)) {
+                    continue;
+                }
+                if (nativeCache.policy().eviction().filter(e -> e.weightedSize().isPresent()).isEmpty()) {
+                    continue; // Bounded by entry count, not weight
+                }
+                Gauge.builder("cache.l1.weight", nativeCache,
+                                c -> c.policy().eviction().map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                        .tag("cache", name)
+                        .description("Estimated heap retained by the entries of an L1 cache")
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("cache.l1.weight.max", nativeCache,
+                                c -> c.policy().eviction().map(Policy.Eviction::getMaximum).orElse(0L))
+                        .tag("cache", name)
+                        .description("Maximum weight of an L1 cache")
+                        .baseUnit("bytes")
+                        .register(registry);
             }
-        });
+        };
     }
 }
@@ -0,0 +1,78 @@
+package com.coremvc.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sizing of the L1 (Caffeine) caches, bound from {@code cache.l1.*}.
+ * <p>
+ * Every cache is bounded by the estimated heap its entries retain rather than by entry
+ * count. {@code defaults} applies to caches without their own entry under {@code caches};
+ * unset fields of a per-cache spec fall back to {@code defaults}. The per-cache maximum
+ * weights of the eagerly created caches must fit into {@code budget}.
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "cache.l1")
+public class L1CacheProperties {
+
+    /**
+     * Heap the L1 caches may retain in total.
+     */
+    private DataSize budget = DataSize.ofMegabytes(128);
+
+    private Spec defaults = new Spec(DataSize.ofMegabytes(8), Duration.ofMinutes(5), null, false);
+
+    /**
+     * Per-cache overrides by cache name, e.g. {@code cache.l1.caches[product\:\:page].maximum-weight=48MB}.
+     */
+    private Map<String, Spec> caches = new LinkedHashMap<>();
+
+    /**
+     * The effective spec of a cache: its own settings, completed from {@code defaults}.
+     */
+    public Spec specFor(String cacheName) {
+        Spec spec = caches.get(cacheName);
+        if (spec == null) {
+            return defaults;
+        }
+        return new Spec(
+                spec.getMaximumWeight() != null ? spec.getMaximumWeight() : defaults.getMaximumWeight(),
+                spec.getTtl() != null ? spec.getTtl() : defaults.getTtl(),
+                spec.getRefresh() != null ? spec.getRefresh() : defaults.getRefresh(),
+                spec.getSoftValues() != null ? spec.getSoftValues() : defaults.getSoftValues());
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+
+        /**
+         * Estimated heap the cache's entries may retain.
+         */
+        private DataSize maximumWeight;
+
+        /**
+         * Mean time to live; each entry is jittered by cache.ttl-jitter.
+         */
+        private Duration ttl;
+
+        /**
+         * Refresh-ahead window; null uses cache.refresh-ahead.window, zero disables refresh-ahead.
+         */
+        private Duration refresh;
+
+        /**
+         * Hold values through soft references, so the GC may reclaim them under memory pressure.
+         */
+        private Boolean softValues;
+    }
+}
@@ -0,0 +1,87 @@
+package com.coremvc.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Password hashing parameters, bound from {@code auth.password-hash.*}.
+ * <p>
+ * New hashes are created with {@code algorithm}; hashes of the other algorithms (and legacy
+ * hashes without an <code>{id}</code> prefix, which are BCrypt) are still accepted and
+ * replaced on the user's next successful login, as are hashes with a lower cost than the
+ * configured one. With {@code calibrate} enabled, new BCrypt and Argon2 hashes use a cost
+ * measured at startup so that one hash takes about {@code target-latency} on this node,
+ * within the configured bounds; stored hashes are never re-hashed up to that cost.
+ * </p>
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.password-hash")
+public class PasswordHashProperties {
+
+    /**
+     * Algorithm for new hashes: {@code bcrypt}, {@code argon2} or {@code pbkdf2}.
+     */
+    private String algorithm = "bcrypt";
+
+    /**
+     * Whether new hashes take their cost from {@code target-latency} instead of the fixed values.
+     * Off by default so that every node hashes with the same cost.
+     */
+    private boolean calibrate = false;
+
+    /**
+     * Time one hash should take when calibrated.
+     */
+    private Duration targetLatency = Duration.ofMillis(100);
+
+    private Bcrypt bcrypt = new Bcrypt();
+
+    private Argon2 argon2 = new Argon2();
+
+    private Pbkdf2 pbkdf2 = new Pbkdf2();
+
+    @Data
+    public static class Bcrypt {
+
+        /**
+         * Log2 rounds; stored hashes below it are upgraded.
+         */
+        private int strength = 10;
+
+        private int minStrength = 10;
+
+        private int maxStrength = 14;
+    }
+
+    @Data
+    public static class Argon2 {
+
+        /**
+         * Memory per hash in KiB; not calibrated.
+         */
+        private int memory = 16384;
+
+        private int parallelism = 1;
+
+        /**
+         * Passes over the memory; stored hashes below it are upgraded.
+         */
+        private int iterations = 2;
+
+        private int minIterations = 2;
+
+        private int maxIterations = 10;
+    }
+
+    @Data
+    public static class Pbkdf2 {
+
+        /**
+         * Never calibrated: PBKDF2 hashes do not record their iteration count, so changing it
+         * invalidates every stored PBKDF2 hash.
+         */
+        private int iterations = 310000;
+    }
+}
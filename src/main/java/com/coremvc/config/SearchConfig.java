@@ -0,0 +1,72 @@
+package com.coremvc.config;
+
+import com.coremvc.repository.ProductRepository;
+import com.coremvc.search.FullTextProductSearchEngine;
+import com.coremvc.search.InMemoryProductSearchEngine;
+import com.coremvc.search.LikeProductSearchEngine;
+import com.coremvc.search.ProductSearchEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Selects the product search engine.
+ * <p>
+ * {@code product.search.engine} accepts {@code auto}, {@code fulltext}, {@code like} or
+ * {@code memory} (in-process inverted index, see {@link InMemoryProductSearchEngine}).
+ * {@code auto} uses full-text search when running on PostgreSQL with {@code pg_trgm}
+ * installed and falls back to LIKE otherwise (e.g. H2 in tests).
+ * </p>
+ */
+@Configuration
+@Slf4j
+public class SearchConfig {
+
+    @Value("${product.search.engine:auto}")
+    private String engine;
+
+    @Value("${product.search.memory.batch-size:1000}")
+    private int memoryBatchSize;
+
+    @Bean
+    public ProductSearchEngine productSearchEngine(ProductRepository productRepository, JdbcTemplate jdbcTemplate) {
+        String selected = engine.trim().toLowerCase();
+        if ("auto".equals(selected)) {
+            selected = hasTrigramSupport(jdbcTemplate) ? FullTextProductSearchEngine.NAME : LikeProductSearchEngine.NAME;
+        }
+
+        ProductSearchEngine searchEngine = switch (selected) {
+            case FullTextProductSearchEngine.NAME -> new FullTextProductSearchEngine(productRepository);
+            case LikeProductSearchEngine.NAME -> new LikeProductSearchEngine(productRepository);
+            case InMemoryProductSearchEngine.NAME -> new InMemoryProductSearchEngine(productRepository, memoryBatchSize);
+            default -> throw new IllegalStateException("Unknown product.search.engine: " + engine);
+        };
+
+        log.info("Product search engine: {}", searchEngine.name());
+        return searchEngine;
+    }
+
+    private boolean hasTrigramSupport(JdbcTemplate jdbcTemplate) {
+        try {
+            boolean postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+            if (!postgres) {
+                return false;
+            }
+            Integer installed = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class);
+            if (installed == null || installed == 0) {
+                log.warn("pg_trgm is not installed; run create-indexes.sql to enable full-text product search");
+                return false;
+            }
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not detect search capabilities, using LIKE search: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.coremvc.config;
 
 import com.coremvc.security.JwtAuthenticationEntryPoint;
 import com.coremvc.security.JwtFilter;
+import com.coremvc.security.PasswordEncoderCalibrator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -11,7 +13,6 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.web.cors.CorsConfiguration;
@@ -44,6 +45,7 @@ import java.util.Arrays;
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
+@EnableConfigurationProperties(PasswordHashProperties.class)
 @RequiredArgsConstructor
 public class SecurityConfig {
     
@@ -52,18 +54,20 @@ public class SecurityConfig {
 
 
     /**
-     * Provides a password encoder bean using BCrypt hashing algorithm.
+     * Provides a delegating password encoder.
      * <p>
-     * BCrypt is a strong hashing function designed for password storage.
-     * It automatically handles salt generation and is computationally expensive
-     * to resist brute-force attacks.
+     * New hashes use the configured algorithm (BCrypt by default) and are prefixed with its id,
+     * e.g. <code>{bcrypt}$2a$12$...</code>; BCrypt, PBKDF2 and Argon2 hashes, as well as legacy
+     * unprefixed BCrypt hashes, are all accepted. The work factor is the configured one, or
+     * optionally calibrated at startup (see {@link PasswordEncoderCalibrator}).
      * </p>
      *
-     * @return BCryptPasswordEncoder instance
+     * @param passwordHashProperties algorithm and cost settings
+     * @return DelegatingPasswordEncoder instance
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashProperties passwordHashProperties) {
+        return PasswordEncoderCalibrator.build(passwordHashProperties);
     }
     
 
@@ -75,7 +79,10 @@ public class SecurityConfig {
      *   <li><b>CSRF:</b> Disabled (stateless REST API)</li>
      *   <li><b>CORS:</b> Disabled (configure separately if needed)</li>
      *   <li><b>Session Management:</b> Stateless (no server-side sessions)</li>
-     *   <li><b>Public endpoints:</b> /api/auth/**, /api/v1/auth/**, /api/v1/health/**</li>
+     *   <li><b>Public endpoints:</b> /api/auth/**, /api/v1/auth/login, /api/v1/auth/register,
+     *       /api/v1/auth/refresh, /api/v1/health/**, /api/v1/settings/default,
+     *       /api/v1/paypal/webhook, /api/v1/products/category-id/**, /api/v1/products/search,
+     *       /actuator/health/**, /actuator/prometheus</li>
      *   <li><b>Protected endpoints:</b> All other requests require authentication</li>
      *   <li><b>Exception handling:</b> Custom AuthenticationEntryPoint for 401 errors</li>
      *   <li><b>JWT Filter:</b> Runs before standard authentication filter</li>
@@ -108,7 +115,9 @@ public class SecurityConfig {
                                 "/api/v1/settings/default",
                                 "/api/v1/paypal/webhook",
                                 "/api/v1/products/category-id/**",
-                                "/api/v1/products/search"
+                                "/api/v1/products/search",
+                                "/actuator/health/**",
+                                "/actuator/prometheus"
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -7,14 +7,19 @@ import com.coremvc.dto.RegisterRequest;
 import com.coremvc.dto.RefreshTokenRequest;
 import com.coremvc.dto.UserDto;
 import com.coremvc.exception.UnauthorizedException;
+import com.coremvc.security.ClientAddressResolver;
 import com.coremvc.service.AuthService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST controller for authentication operations.
  * <p>
@@ -35,6 +40,8 @@ import jakarta.validation.Valid;
 public class AuthController {
     
     private final AuthService authService;
+
+    private final ClientAddressResolver clientAddressResolver;
     
     /**
      * Registers a new user account.
@@ -44,13 +51,15 @@ public class AuthController {
      * </p>
      *
      * @param request the registration request containing user details
-     * @return ResponseEntity with authentication response including tokens
+     * @param httpRequest the HTTP request, whose client address (see {@link ClientAddressResolver}) is rate limited
+     * @return ResponseEntity with authentication response including tokens, once the password is hashed
      * @throws com.coremvc.exception.BadRequestException if email already exists
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request,
+                                                                    HttpServletRequest httpRequest) {
+        return authService.register(request, clientAddressResolver.resolve(httpRequest))
+                .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
     
     /**
@@ -61,13 +70,15 @@ public class AuthController {
      * </p>
      *
      * @param request the login request containing credentials (email/username and password)
-     * @return ResponseEntity with authentication response including tokens
+     * @param httpRequest the HTTP request, whose client address (see {@link ClientAddressResolver}) is rate limited
+     * @return ResponseEntity with authentication response including tokens, once the password is verified
      * @throws com.coremvc.exception.UnauthorizedException if credentials are invalid
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                                 HttpServletRequest httpRequest) {
+        return authService.login(request, clientAddressResolver.resolve(httpRequest))
+                .thenApply(ResponseEntity::ok);
     }
     
     /**
@@ -88,6 +99,29 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Logs out the current user.
+     * <p>
+     * Revokes the access token of this request and, if supplied, the refresh
+     * token, so neither can be used again. Requires valid JWT token in
+     * Authorization header.
+     * </p>
+     *
+     * @param authorization the Authorization header with the access token
+     * @param request optional body with the refresh token to revoke
+     * @return ResponseEntity confirming the logout
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Void>> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        if (!authorization.startsWith("Bearer ")) {
+            throw new UnauthorizedException("User not authenticated");
+        }
+        authService.logout(authorization.substring(7), request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok(new ApiResponse<>("Logged out successfully", null, true));
+    }
+    
     /**
      * Retrieves the authenticated user's profile information.
      * <p>
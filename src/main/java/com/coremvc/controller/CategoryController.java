@@ -2,6 +2,8 @@ package com.coremvc.controller;
 
 import com.coremvc.dto.ApiResponse;
 import com.coremvc.dto.CategoryDto;
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.service.CategoryService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -28,20 +30,34 @@ public class CategoryController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "exact") String countMode) {
 
         Sort.Direction direction = sortDirection.equalsIgnoreCase("DESC")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<CategoryDto> categorys = categoryService.getAllCategorys(pageable);
+        Page<CategoryDto> categorys = categoryService.getAllCategorys(pageable, PageCountMode.from(countMode));
 
         return ResponseEntity.ok(
                 new ApiResponse<>("Categorys retrieved successfully", categorys, true)
         );
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<CategoryDto>>> getCategorysByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorPage<CategoryDto> categorys = categoryService.getCategorysByCursor(after, before, size);
+        return ResponseEntity.ok(
+                new ApiResponse<>("Categorys retrieved successfully", categorys, true)
+        );
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<CategoryDto>> getCategoryById(@PathVariable Long id) {
@@ -1,5 +1,9 @@
 package com.coremvc.controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -9,8 +13,11 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/health")
+@RequiredArgsConstructor
 public class HealthController {
 
+    private final ApplicationAvailability applicationAvailability;
+
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
@@ -18,4 +25,20 @@ public class HealthController {
         response.put("message", "Application is running");
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Readiness probe: OUT_OF_SERVICE (503) until startup, including the cache warm-up, has finished
+     */
+    @GetMapping("/readiness")
+    public ResponseEntity<Map<String, Object>> readiness() {
+        Map<String, Object> response = new HashMap<>();
+        if (applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            response.put("status", "UP");
+            response.put("message", "Application is ready");
+            return ResponseEntity.ok(response);
+        }
+        response.put("status", "OUT_OF_SERVICE");
+        response.put("message", "Application is starting");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
 }
@@ -1,6 +1,8 @@
 package com.coremvc.controller;
 
 import com.coremvc.dto.ApiResponse;
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.paypal.CaptureOrderRequest;
 import com.coremvc.dto.paypal.CreateOrderRequest;
 import com.coremvc.dto.paypal.PayPalOrderResponse;
@@ -76,14 +78,28 @@ public class PayPalController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "exact") String countMode) {
 
         Sort.Direction direction = sortDirection.equalsIgnoreCase("DESC")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<PaymentDto> payments = payPalService.getAllPayments(pageable);
+        Page<PaymentDto> payments = payPalService.getAllPayments(pageable, PageCountMode.from(countMode));
+
+        return ResponseEntity.ok(
+                new ApiResponse<>("Payments retrieved successfully", payments, true));
+    }
+
+    @GetMapping("/payments/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<PaymentDto>>> getPaymentsByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorPage<PaymentDto> payments = payPalService.getPaymentsByCursor(after, before, size);
 
         return ResponseEntity.ok(
                 new ApiResponse<>("Payments retrieved successfully", payments, true));
@@ -104,14 +120,29 @@ public class PayPalController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "exact") String countMode) {
 
         Sort.Direction direction = sortDirection.equalsIgnoreCase("DESC")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<PaymentDto> payments = payPalService.getPaymentsByUserId(userId, pageable);
+        Page<PaymentDto> payments = payPalService.getPaymentsByUserId(userId, pageable, PageCountMode.from(countMode));
+
+        return ResponseEntity.ok(
+                new ApiResponse<>("Payments retrieved successfully", payments, true));
+    }
+
+    @GetMapping("/payments/user/{userId}/cursor")
+    @PreAuthorize("hasRole('ADMIN') or #userId == authentication.principal.id")
+    public ResponseEntity<ApiResponse<CursorPage<PaymentDto>>> getPaymentsByUserIdAndCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorPage<PaymentDto> payments = payPalService.getPaymentsByUserIdAndCursor(userId, after, before, size);
 
         return ResponseEntity.ok(
                 new ApiResponse<>("Payments retrieved successfully", payments, true));
@@ -122,7 +153,8 @@ public class PayPalController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "DESC") String sortDirection) {
+            @RequestParam(defaultValue = "DESC") String sortDirection,
+            @RequestParam(defaultValue = "exact") String countMode) {
 
         Long userId = getCurrentUserId();
 
@@ -131,7 +163,7 @@ public class PayPalController {
                 : Sort.Direction.ASC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<PaymentDto> payments = payPalService.getPaymentsByUserId(userId, pageable);
+        Page<PaymentDto> payments = payPalService.getPaymentsByUserId(userId, pageable, PageCountMode.from(countMode));
 
         return ResponseEntity.ok(
                 new ApiResponse<>("Payments retrieved successfully", payments, true));
@@ -1,7 +1,14 @@
 package com.coremvc.controller;
 
 import com.coremvc.dto.ApiResponse;
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.ImportResultDto;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.ProductDto;
+import com.coremvc.dto.ProductFileFormat;
+import com.coremvc.dto.SearchIndexStatsDto;
+import com.coremvc.service.ProductExportService;
+import com.coremvc.service.ProductImportService;
 import com.coremvc.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -9,10 +16,15 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -21,15 +33,43 @@ import org.springframework.web.bind.annotation.*;
 public class ProductController {
 
         private final ProductService productService;
+        private final ProductExportService productExportService;
+        private final ProductImportService productImportService;
 
         @GetMapping("/category-id/{categoryId}")
         public ResponseEntity<ApiResponse<Page<ProductDto>>> getProductsByCategoryId(
                         @PathVariable Long categoryId,
                         @RequestParam(defaultValue = "0") int page,
-                        @RequestParam(defaultValue = "10") int size) {
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(defaultValue = "exact") String countMode) {
 
                 Pageable pageable = PageRequest.of(page, size);
-                Page<ProductDto> products = productService.getProductsByCategoryId(categoryId, pageable);
+                Page<ProductDto> products = productService.getProductsByCategoryId(categoryId, pageable, PageCountMode.from(countMode));
+                return ResponseEntity.ok(
+                                new ApiResponse<>("Products retrieved successfully", products, true));
+        }
+
+        @GetMapping("/category-id/{categoryId}/cursor")
+        public ResponseEntity<ApiResponse<CursorPage<ProductDto>>> getProductsByCategoryIdAndCursor(
+                        @PathVariable Long categoryId,
+                        @RequestParam(required = false) String after,
+                        @RequestParam(required = false) String before,
+                        @RequestParam(defaultValue = "10") int size) {
+
+                CursorPage<ProductDto> products = productService.getProductsByCategoryIdAndCursor(
+                                categoryId, after, before, size);
+                return ResponseEntity.ok(
+                                new ApiResponse<>("Products retrieved successfully", products, true));
+        }
+
+        @GetMapping("/cursor")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<ApiResponse<CursorPage<ProductDto>>> getProductsByCursor(
+                        @RequestParam(required = false) String after,
+                        @RequestParam(required = false) String before,
+                        @RequestParam(defaultValue = "10") int size) {
+
+                CursorPage<ProductDto> products = productService.getProductsByCursor(after, before, size);
                 return ResponseEntity.ok(
                                 new ApiResponse<>("Products retrieved successfully", products, true));
         }
@@ -40,19 +80,47 @@ public class ProductController {
                         @RequestParam(defaultValue = "0") int page,
                         @RequestParam(defaultValue = "10") int size,
                         @RequestParam(defaultValue = "id") String sortBy,
-                        @RequestParam(defaultValue = "ASC") String sortDirection) {
+                        @RequestParam(defaultValue = "ASC") String sortDirection,
+                        @RequestParam(defaultValue = "exact") String countMode) {
 
                 Sort.Direction direction = sortDirection.equalsIgnoreCase("DESC")
                                 ? Sort.Direction.DESC
                                 : Sort.Direction.ASC;
 
                 Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-                Page<ProductDto> products = productService.getAllProducts(pageable);
+                Page<ProductDto> products = productService.getAllProducts(pageable, PageCountMode.from(countMode));
 
                 return ResponseEntity.ok(
                                 new ApiResponse<>("Users retrieved successfully", products, true));
         }
 
+        @GetMapping("/export")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<StreamingResponseBody> exportProducts(
+                        @RequestParam(defaultValue = "ndjson") String format) {
+
+                ProductFileFormat fileFormat = ProductFileFormat.from(format);
+                StreamingResponseBody body = out -> productExportService.exportProducts(fileFormat, out);
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType(fileFormat.getMediaType() + ";charset=UTF-8"))
+                                .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                "attachment; filename=\"products." + fileFormat.getExtension() + "\"")
+                                .body(body);
+        }
+
+        @PostMapping("/import")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<ApiResponse<ImportResultDto>> importProducts(
+                        @RequestParam(defaultValue = "ndjson") String format,
+                        InputStream body) {
+
+                ImportResultDto result = productImportService.importProducts(ProductFileFormat.from(format), body);
+                String message = result.getRejected() == 0 && result.getFailedBatches() == 0
+                                ? "Products imported successfully"
+                                : "Products imported with errors";
+                return ResponseEntity.ok(new ApiResponse<>(message, result, true));
+        }
+
         @GetMapping("/{id}")
         @PreAuthorize("hasRole('ADMIN')")
         public ResponseEntity<ApiResponse<ProductDto>> getProductById(@PathVariable Long id) {
@@ -92,11 +160,28 @@ public class ProductController {
         public ResponseEntity<ApiResponse<Page<ProductDto>>> searchProducts(
                         @RequestParam String name,
                         @RequestParam(defaultValue = "0") int page,
-                        @RequestParam(defaultValue = "10") int size) {
+                        @RequestParam(defaultValue = "10") int size,
+                        @RequestParam(defaultValue = "exact") String countMode) {
 
                 Pageable pageable = PageRequest.of(page, size);
-                Page<ProductDto> products = productService.searchProductsByName(name, pageable);
+                Page<ProductDto> products = productService.searchProductsByName(name, pageable, PageCountMode.from(countMode));
                 return ResponseEntity.ok(
                                 new ApiResponse<>("Products retrieved successfully", products, true));
         }
+
+        @GetMapping("/search/index")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<ApiResponse<SearchIndexStatsDto>> getSearchIndexStats() {
+                SearchIndexStatsDto stats = productService.getSearchIndexStats();
+                return ResponseEntity.ok(
+                                new ApiResponse<>("Search index statistics retrieved successfully", stats, true));
+        }
+
+        @PostMapping("/search/index/rebuild")
+        @PreAuthorize("hasRole('ADMIN')")
+        public ResponseEntity<ApiResponse<SearchIndexStatsDto>> rebuildSearchIndex() {
+                SearchIndexStatsDto stats = productService.rebuildSearchIndex();
+                return ResponseEntity.ok(
+                                new ApiResponse<>("Search index rebuilt successfully", stats, true));
+        }
 }
\ No newline at end of file
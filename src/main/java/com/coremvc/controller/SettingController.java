@@ -1,6 +1,8 @@
 package com.coremvc.controller;
 
 import com.coremvc.dto.ApiResponse;
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.SettingDto;
 import com.coremvc.service.SettingService;
 import jakarta.validation.Valid;
@@ -27,14 +29,15 @@ public class SettingController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "exact") String countMode) {
 
         Sort.Direction direction = sortDirection.equalsIgnoreCase("DESC")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<SettingDto> settings = settingService.getAllSettings(pageable);
+        Page<SettingDto> settings = settingService.getAllSettings(pageable, PageCountMode.from(countMode));
 
         return ResponseEntity.ok(
                 new ApiResponse<>("Settings retrieved successfully", settings, true)
@@ -48,20 +51,34 @@ public class SettingController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "id") String sortBy,
-            @RequestParam(defaultValue = "ASC") String sortDirection) {
+            @RequestParam(defaultValue = "ASC") String sortDirection,
+            @RequestParam(defaultValue = "exact") String countMode) {
 
         Sort.Direction direction = sortDirection.equalsIgnoreCase("DESC")
                 ? Sort.Direction.DESC
                 : Sort.Direction.ASC;
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<SettingDto> settings = settingService.getAllSettings(pageable);
+        Page<SettingDto> settings = settingService.getAllSettings(pageable, PageCountMode.from(countMode));
 
         return ResponseEntity.ok(
                 new ApiResponse<>("Settings retrieved successfully", settings, true)
         );
     }
 
+    @GetMapping("/cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<CursorPage<SettingDto>>> getSettingsByCursor(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorPage<SettingDto> settings = settingService.getSettingsByCursor(after, before, size);
+        return ResponseEntity.ok(
+                new ApiResponse<>("Settings retrieved successfully", settings, true)
+        );
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<SettingDto>> getSettingById(@PathVariable Long id) {
@@ -0,0 +1,29 @@
+package com.coremvc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A keyset (seek) page of results.
+ * <p>
+ * Unlike {@link RestPage}, a cursor page carries no total count and no page number:
+ * clients follow {@code nextCursor}/{@code prevCursor} to move through the list,
+ * so every page costs the same regardless of how deep the client has scrolled.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String nextCursor;
+    private String prevCursor;
+    private boolean hasNext;
+    private boolean hasPrevious;
+}
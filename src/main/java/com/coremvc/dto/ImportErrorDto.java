@@ -0,0 +1,23 @@
+package com.coremvc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rejected row or a failed batch of a bulk import.
+ * <p>
+ * Row errors carry the input line; batch errors carry the batch number and the
+ * range of lines it covered.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportErrorDto {
+    private Long line;
+    private Integer batch;
+    private String message;
+}
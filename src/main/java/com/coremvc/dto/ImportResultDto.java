@@ -0,0 +1,29 @@
+package com.coremvc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk product import.
+ * <p>
+ * {@code errors} is capped; {@code errorsTruncated} tells whether more were dropped.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResultDto {
+    private long received;
+    private long imported;
+    private long rejected;
+    private int batches;
+    private int failedBatches;
+    private long durationMillis;
+    private List<ImportErrorDto> errors;
+    private boolean errorsTruncated;
+}
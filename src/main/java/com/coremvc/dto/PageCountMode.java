@@ -0,0 +1,37 @@
+package com.coremvc.dto;
+
+import com.coremvc.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * How the total element count of a paged response is obtained.
+ * <ul>
+ *   <li>{@code EXACT} - a {@code SELECT count(*)} is issued (default)</li>
+ *   <li>{@code ESTIMATED} - the total comes from planner statistics or a cached count</li>
+ *   <li>{@code ABSENT} - no count at all; only {@code last} tells whether more pages exist</li>
+ * </ul>
+ */
+public enum PageCountMode {
+    EXACT,
+    ESTIMATED,
+    ABSENT;
+
+    /**
+     * Parses a request parameter value, ignoring case.
+     *
+     * @param value the parameter value, e.g. "exact", "estimated" or "absent"
+     * @return the matching mode, or {@code EXACT} when the value is blank
+     * @throws BadRequestException if the value is not a known mode
+     */
+    public static PageCountMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return EXACT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid countMode: " + value + " (expected exact, estimated or absent)");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.coremvc.dto;
+
+import com.coremvc.exception.BadRequestException;
+
+import java.util.Locale;
+
+/**
+ * File formats supported for bulk product transfer.
+ * <ul>
+ *   <li>{@code NDJSON} - one JSON product object per line</li>
+ *   <li>{@code CSV} - RFC 4180 with a header row</li>
+ * </ul>
+ */
+public enum ProductFileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ProductFileFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parses a request parameter value, ignoring case.
+     *
+     * @param value the parameter value, e.g. "ndjson" or "csv"
+     * @return the matching format
+     * @throws BadRequestException if the value is not a known format
+     */
+    public static ProductFileFormat from(String value) {
+        if (value == null || value.isBlank()) {
+            throw new BadRequestException("Missing format (expected ndjson or csv)");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid format: " + value + " (expected ndjson or csv)");
+        }
+    }
+}
@@ -1,42 +1,122 @@
 package com.coremvc.dto;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.LongSupplier;
 
 /**
  * A custom Page implementation that can be serialized/deserialized by Jackson.
  * This solves the Redis cache deserialization issue with Spring's PageImpl.
+ * <p>
+ * The {@code countMode} flag tells clients whether {@code totalElements} is exact,
+ * estimated, or absent. When absent, the totals are serialized as null and only
+ * {@code last} is meaningful.
+ * </p>
  */
 @JsonIgnoreProperties(ignoreUnknown = true, value = {"pageable"})
 public class RestPage<T> extends PageImpl<T> {
 
+    private final PageCountMode countMode;
+
     @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
     public RestPage(
             @JsonProperty("content") List<T> content,
             @JsonProperty("number") int number,
             @JsonProperty("size") int size,
-            @JsonProperty("totalElements") long totalElements) {
-        super(content != null ? content : new ArrayList<>(), 
-              PageRequest.of(number, size > 0 ? size : 1), 
-              totalElements);
+            @JsonProperty("totalElements") Long totalElements,
+            @JsonProperty("last") Boolean last,
+            @JsonProperty("countMode") PageCountMode countMode) {
+        super(content != null ? content : new ArrayList<>(),
+              PageRequest.of(number, size > 0 ? size : 1),
+              resolveTotal(content, number, size, totalElements, last));
+        this.countMode = countMode != null ? countMode : PageCountMode.EXACT;
     }
 
     public RestPage(List<T> content, Pageable pageable, long total) {
+        this(content, pageable, total, PageCountMode.EXACT);
+    }
+
+    private RestPage(List<T> content, Pageable pageable, long total, PageCountMode countMode) {
         super(content, pageable, total);
+        this.countMode = countMode;
     }
 
     public RestPage(List<T> content) {
         super(content);
+        this.countMode = PageCountMode.EXACT;
     }
 
     public RestPage() {
         super(new ArrayList<>());
+        this.countMode = PageCountMode.EXACT;
+    }
+
+    /**
+     * Builds a page from a slice that was read without a count query.
+     * <p>
+     * For {@code ESTIMATED}, the estimate is clamped so that it never contradicts what
+     * the slice already proved (rows seen so far, and whether another page exists).
+     * For {@code ABSENT}, a synthetic total of "one more than seen" keeps {@code last}
+     * correct while the reported totals stay null.
+     * </p>
+     *
+     * @param slice          the slice returned by the repository
+     * @param countMode      {@code ESTIMATED} or {@code ABSENT}
+     * @param estimatedTotal supplies the estimate; only called for {@code ESTIMATED}
+     * @return the page
+     */
+    public static <T> RestPage<T> fromSlice(Slice<T> slice, PageCountMode countMode, LongSupplier estimatedTotal) {
+        Pageable pageable = slice.getPageable();
+        long seen = (pageable.isPaged() ? pageable.getOffset() : 0) + slice.getNumberOfElements();
+        long total = slice.hasNext() ? seen + 1 : seen;
+
+        if (countMode == PageCountMode.ESTIMATED && slice.hasNext()) {
+            total = Math.max(total, estimatedTotal.getAsLong());
+        }
+
+        return new RestPage<>(slice.getContent(), pageable, total, countMode);
+    }
+
+    public PageCountMode getCountMode() {
+        return countMode;
+    }
+
+    @JsonIgnore
+    @Override
+    public long getTotalElements() {
+        return super.getTotalElements();
+    }
+
+    @JsonIgnore
+    @Override
+    public int getTotalPages() {
+        return super.getTotalPages();
+    }
+
+    @JsonProperty("totalElements")
+    public Long reportedTotalElements() {
+        return countMode == PageCountMode.ABSENT ? null : super.getTotalElements();
+    }
+
+    @JsonProperty("totalPages")
+    public Integer reportedTotalPages() {
+        return countMode == PageCountMode.ABSENT ? null : super.getTotalPages();
+    }
+
+    private static long resolveTotal(List<?> content, int number, int size, Long totalElements, Boolean last) {
+        if (totalElements != null) {
+            return totalElements;
+        }
+        long seen = (long) number * Math.max(size, 1) + (content != null ? content.size() : 0);
+        return Boolean.FALSE.equals(last) ? seen + 1 : seen;
     }
 }
@@ -0,0 +1,30 @@
+package com.coremvc.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Size and freshness of the in-memory product search index.
+ * <p>
+ * {@code estimatedBytes} is computed from the index structure (arrays, map entries
+ * and term strings) rather than measured, so treat it as an order of magnitude.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchIndexStatsDto {
+    private String engine;
+    private int documents;
+    private int terms;
+    private long postings;
+    private long estimatedBytes;
+    private boolean rebuilding;
+    private LocalDateTime lastRebuiltAt;
+    private long lastRebuildMillis;
+}
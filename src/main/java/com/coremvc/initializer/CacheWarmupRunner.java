@@ -0,0 +1,144 @@
+package com.coremvc.initializer;
+
+import com.coremvc.dto.CategoryDto;
+import com.coremvc.dto.PageCountMode;
+import com.coremvc.model.Setting;
+import com.coremvc.repository.SettingRepository;
+import com.coremvc.service.CategoryService;
+import com.coremvc.service.ProductService;
+import com.coremvc.service.SettingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads hot cache entries before the instance reports ready.
+ * <p>
+ * Runs after the data initializers. Spring Boot switches readiness to accepting traffic
+ * only once all runners have finished, so the readiness probe keeps a new instance out of
+ * rotation until its L1 caches hold the first product pages, all categories and all active
+ * settings. Entries already in Redis are copied into L1 without touching the database.
+ * Loads go through the cached service methods, in parallel; failures are logged and
+ * startup never waits longer than {@code cache.warmup.timeout}.
+ * </p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmupRunner implements ApplicationRunner {
+
+    private final ProductService productService;
+
+    private final CategoryService categoryService;
+
+    private final SettingService settingService;
+
+    private final SettingRepository settingRepository;
+
+    @Value("${cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${cache.warmup.product-pages:5}")
+    private int productPages;
+
+    @Value("${cache.warmup.product-page-size:10}")
+    private int productPageSize;
+
+    @Value("${cache.warmup.categories:true}")
+    private boolean warmCategories;
+
+    @Value("${cache.warmup.settings:true}")
+    private boolean warmSettings;
+
+    @Value("${cache.warmup.threads:4}")
+    private int threads;
+
+    @Value("${cache.warmup.timeout:30s}")
+    private Duration timeout;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        try {
+            for (int page = 0; page < productPages; page++) {
+                // Same key as the default GET /api/v1/products request
+                Pageable pageable = PageRequest.of(page, productPageSize, Sort.by(Sort.Direction.ASC, "id"));
+                tasks.add(submit(executor, "product page " + page, loaded, failed,
+                        () -> productService.getAllProducts(pageable, PageCountMode.EXACT)));
+            }
+            if (warmCategories) {
+                List<CategoryDto> categories = categoryService.getAllCategorys();
+                loaded.incrementAndGet();
+                for (CategoryDto category : categories) {
+                    tasks.add(submit(executor, "category " + category.getId(), loaded, failed,
+                            () -> categoryService.getCategoryById(category.getId())));
+                }
+            }
+            if (warmSettings) {
+                for (Setting setting : settingRepository.findByIsActiveTrue(Pageable.unpaged())) {
+                    tasks.add(submit(executor, "setting " + setting.getKey(), loaded, failed, () -> {
+                        settingService.getSettingByKey(setting.getKey());
+                        settingService.getSettingById(setting.getId());
+                    }));
+                }
+            }
+            CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("Cache warm-up loaded {} entries in {} ms ({} failed)",
+                    loaded.get(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), failed.get());
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up did not finish within {}, continuing with {} entries loaded", timeout, loaded.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | RuntimeException e) {
+            // Never keep the instance from starting; it falls back to loading on demand
+            log.warn("Cache warm-up failed after {} entries: {}", loaded.get(), e.getMessage());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private CompletableFuture<Void> submit(ExecutorService executor, String what,
+                                           AtomicInteger loaded, AtomicInteger failed, Runnable load) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                load.run();
+                loaded.incrementAndGet();
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                log.debug("Cache warm-up of {} failed: {}", what, e.getMessage());
+            }
+        }, executor);
+    }
+}
@@ -1,8 +1,13 @@
 package com.coremvc.initializer;
 
 import com.coremvc.model.Category;
+import com.coremvc.model.Payment;
 import com.coremvc.model.Product;
+import com.coremvc.model.Role;
+import com.coremvc.model.User;
 import com.coremvc.repository.CategoryRepository;
+import com.coremvc.repository.EntityIdAllocator;
+import com.coremvc.repository.ProductJdbcRepository;
 import com.coremvc.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,28 +15,103 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
+/**
+ * Generates a synthetic catalog for development and load-test environments.
+ * <p>
+ * Runs when {@code product.init=true}. Row counts come from {@code seed.*}. Rows are
+ * generated in chunks of {@code seed.batch-size} on a fork-join pool, and each chunk is
+ * written as one JDBC batch in its own transaction. Every chunk draws from a
+ * {@link SplittableRandom} derived from {@code seed.random-seed} and the chunk number,
+ * so for a given seed and batch size the generated data is identical on every run
+ * regardless of thread scheduling.
+ * </p>
+ * <p>
+ * Existing products and categories are replaced; previously seeded users and payments
+ * (recognisable by their {@code seed-user-} emails and {@code SEED-} order ids) are
+ * replaced too, and other users are left alone.
+ * </p>
+ */
 @Component
 @Order(2)
 @RequiredArgsConstructor
 @Slf4j
 public class ProductDataInitializer implements CommandLineRunner {
 
+    private static final String SEED_USER_EMAIL_PREFIX = "seed-user-";
+    private static final String SEED_ORDER_PREFIX = "SEED-";
+    private static final String SEED_USER_PASSWORD = "password123";
+
+    // Distinct salts keep the random streams of different tables independent
+    private static final long PRODUCT_SALT = 0x50524F44L;
+    private static final long USER_SALT = 0x55534552L;
+    private static final long PAYMENT_SALT = 0x5041594DL;
+
+    private static final String INSERT_USER_SQL = "INSERT INTO users "
+            + "(id, uuid, username, email, full_name, phone_number, password, is_active, role, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_PAYMENT_SQL = "INSERT INTO payments "
+            + "(id, paypal_order_id, paypal_capture_id, user_id, status, amount, currency, payer_email, payer_id, "
+            + "description, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     private final ProductRepository productRepository;
 
     private final CategoryRepository categoryRepository;
 
+    private final ProductJdbcRepository productJdbcRepository;
+
+    private final EntityIdAllocator entityIdAllocator;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final PasswordEncoder passwordEncoder;
 
     @Value("${product.init:false}")
     private Boolean productInit;
 
+    @Value("${seed.products:100000}")
+    private long productCount;
+
+    @Value("${seed.categories:10}")
+    private int categoryCount;
+
+    @Value("${seed.users:0}")
+    private long userCount;
+
+    @Value("${seed.payments:0}")
+    private long paymentCount;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.batch-size:5000}")
+    private int batchSize;
+
+    // 0 = one worker per CPU, capped so the workers do not exhaust the connection pool
+    @Value("${seed.parallelism:0}")
+    private int parallelism;
+
     private static final String[] CATEGORIES = {
             "Electronics", "Fashion", "Home & Garden", "Sports", "Books",
             "Toys", "Beauty", "Automotive", "Food", "Health"
@@ -72,74 +152,175 @@ public class ProductDataInitializer implements CommandLineRunner {
             return;
         }
 
+        long start = System.nanoTime();
+        int workers = parallelism > 0 ? parallelism : Math.min(Runtime.getRuntime().availableProcessors(), 8);
+        log.info("Seeding {} categories, {} products, {} users, {} payments (seed={}, batch={}, workers={})",
+                categoryCount, productCount, userCount, paymentCount, randomSeed, batchSize, workers);
+
+        if (paymentCount > 0) {
+            jdbcTemplate.update("DELETE FROM payments WHERE paypal_order_id LIKE ?", SEED_ORDER_PREFIX + "%");
+        }
+        if (userCount > 0) {
+            jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", SEED_USER_EMAIL_PREFIX + "%");
+        }
         categoryRepository.deleteAllInBatch();
         productRepository.deleteAllInBatch();
 
-        // add category data
-        log.info("Starting to Category...");
-        List<Category> categories = new ArrayList<>();
-        for (String category : CATEGORIES) {
-            log.info("Category: {}", category);
-            Category cat = Category.builder()
-                    .name(category)
-                    .description("Description for " + category)
-                    .build();
-            categories.add(cat);
+        long[] categoryIds = seedCategories();
+
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            long rows = categoryIds.length;
+            rows += seed(pool, "products", productCount, PRODUCT_SALT,
+                    (from, count, random) -> writeProducts(from, count, random, categoryIds));
+
+            // One BCrypt hash shared by all seeded users; hashing per row would dominate the run
+            String userPassword = userCount > 0 ? passwordEncoder.encode(SEED_USER_PASSWORD) : null;
+            rows += seed(pool, "users", userCount, USER_SALT,
+                    (from, count, random) -> writeUsers(from, count, random, userPassword));
+
+            long[] userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? ORDER BY id",
+                    Long.class, SEED_USER_EMAIL_PREFIX + "%").stream().mapToLong(Long::longValue).toArray();
+            rows += seed(pool, "payments", paymentCount, PAYMENT_SALT,
+                    (from, count, random) -> writePayments(from, count, random, userIds));
+
+            double seconds = (System.nanoTime() - start) / 1e9;
+            log.info("Seeding finished: {} rows in {} s ({} rows/s)",
+                    rows, String.format("%.2f", seconds), Math.round(rows / Math.max(seconds, 1e-9)));
+        } finally {
+            pool.shutdown();
         }
+    }
 
-        categoryRepository.saveAll(categories);
+    private long[] seedCategories() {
+        List<Category> categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            // Cycle through the base names; "Books 2", "Books 3"... once they run out
+            String name = CATEGORIES[i % CATEGORIES.length] + (i >= CATEGORIES.length ? " " + (i / CATEGORIES.length + 1) : "");
+            categories.add(Category.builder()
+                    .name(name)
+                    .description("Description for " + name)
+                    .build());
+        }
+        return categoryRepository.saveAll(categories).stream().mapToLong(Category::getId).toArray();
+    }
 
-        log.info("Starting to initialize 100000 products...");
-        
-        List<Product> products = new ArrayList<>();
-        Random random = new Random();
+    /**
+     * Generates and writes {@code total} rows in parallel chunks and logs the throughput.
+     *
+     * @return the number of rows written
+     */
+    private long seed(ForkJoinPool pool, String table, long total, long salt, ChunkWriter writer) throws Exception {
+        if (total <= 0) {
+            return 0;
+        }
 
-        List<Category> categoryList = categoryRepository.findAll();
+        long start = System.nanoTime();
+        int chunks = (int) ((total + batchSize - 1) / batchSize);
+        int logEvery = Math.max(1, chunks / 10);
+        AtomicLong written = new AtomicLong();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
 
-        
+        pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            long from = (long) chunk * batchSize;
+            int count = (int) Math.min(batchSize, total - from);
+            SplittableRandom random = new SplittableRandom(randomSeed ^ salt ^ (chunk * 0x9E3779B97F4A7C15L));
+
+            transactionTemplate.executeWithoutResult(status -> writer.write(from, count, random));
+
+            long done = written.addAndGet(count);
+            if (chunk % logEvery == 0) {
+                log.info("Seeded {}/{} {}...", done, total, table);
+            }
+        })).get();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Seeded {} {} in {} s ({} rows/s)",
+                total, table, String.format("%.2f", seconds), Math.round(total / Math.max(seconds, 1e-9)));
+        return total;
+    }
 
-        for (int i = 1; i <= 100000; i++) {
+    private void writeProducts(long from, int count, SplittableRandom random, long[] categoryIds) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        List<Product> products = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            long n = from + j + 1;
             String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
             String productType = PRODUCT_TYPES[random.nextInt(PRODUCT_TYPES.length)];
-            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
             String description = DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
-            
+
             BigDecimal price = BigDecimal.valueOf(9.99 + (random.nextDouble() * 990.01))
                     .setScale(2, RoundingMode.HALF_UP);
 
-            var categoryEntity = categoryList.stream()
-                    .filter(cat -> cat.getName().equals(category))
-                    .findFirst()
-                    .orElse(null);
-
             Product product = Product.builder()
-                    .name(adjective + " " + productType + " #" + i)
-                    .description(description + " - Product ID: " + i)
+                    .name(adjective + " " + productType + " #" + n)
+                    .description(description + " - Product ID: " + n)
                     .price(price)
-                    .categoryId(categoryEntity != null ? categoryEntity.getId() : null)
-                    .thumbnailUrl("https://picsum.photos/400/300?random=" + i)
+                    .categoryId(categoryIds.length > 0 ? categoryIds[random.nextInt(categoryIds.length)] : null)
+                    .thumbnailUrl("https://picsum.photos/400/300?random=" + n)
                     .isActive(random.nextInt(100) < 95) // 95% active
                     .build();
-
+            product.setCreatedAt(now);
+            product.setUpdatedAt(now);
             products.add(product);
-
-            if (i % 1000 == 0) {
-                productRepository.saveAll(products);
-                products.clear();
-                log.info("Saved {} products...", i);
-            }
         }
+        productJdbcRepository.insertBatch(products);
+    }
+
+    private void writeUsers(long from, int count, SplittableRandom random, String password) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        long[] ids = entityIdAllocator.nextIds(User.class, count);
 
-        if (!products.isEmpty()) {
-            productRepository.saveAll(products);
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            long n = from + j + 1;
+            rows.add(new Object[]{
+                    ids[j],
+                    new UUID(random.nextLong(), random.nextLong()).toString(),
+                    "seed_user_" + n,
+                    SEED_USER_EMAIL_PREFIX + n + "@example.com",
+                    "Seed User " + n,
+                    String.format("+1555%07d", random.nextInt(10_000_000)),
+                    password,
+                    true,
+                    Role.USER.name(),
+                    now,
+                    now
+            });
         }
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, rows);
+    }
 
-        log.info("Successfully initialized 100000 products!");
-        log.info("Total products in database: {}", productRepository.count());
+    private void writePayments(long from, int count, SplittableRandom random, long[] userIds) {
+        Payment.PaymentStatus[] statuses = Payment.PaymentStatus.values();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        long[] ids = entityIdAllocator.nextIds(Payment.class, count);
+
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            long n = from + j + 1;
+            Long userId = userIds.length > 0 ? userIds[random.nextInt(userIds.length)] : null;
+            Payment.PaymentStatus status = statuses[random.nextInt(statuses.length)];
+            rows.add(new Object[]{
+                    ids[j],
+                    SEED_ORDER_PREFIX + n,
+                    status == Payment.PaymentStatus.COMPLETED ? "SEED-CAPTURE-" + n : null,
+                    userId,
+                    status.name(),
+                    BigDecimal.valueOf(1 + random.nextDouble() * 999).setScale(2, RoundingMode.HALF_UP),
+                    "USD",
+                    "payer-" + n + "@example.com",
+                    null,
+                    "Seeded payment " + n,
+                    now,
+                    now
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT_SQL, rows);
     }
 
-    private void deleteAllInBatch() {
-        // TODO Auto-generated method stub
-        throw new UnsupportedOperationException("Unimplemented method 'deleteAllInBatch'");
+    @FunctionalInterface
+    private interface ChunkWriter {
+        void write(long from, int count, SplittableRandom random);
     }
 }
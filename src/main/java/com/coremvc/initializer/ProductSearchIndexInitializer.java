@@ -0,0 +1,27 @@
+package com.coremvc.initializer;
+
+import com.coremvc.search.ProductSearchEngine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the product search index, if the active engine keeps one, after product
+ * data has been initialized.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchIndexInitializer implements CommandLineRunner {
+
+    private final ProductSearchEngine productSearchEngine;
+
+    @Override
+    public void run(String... args) {
+        productSearchEngine.rebuild().ifPresent(stats ->
+                log.info("Product search index ready ({} engine)", stats.getEngine()));
+    }
+}
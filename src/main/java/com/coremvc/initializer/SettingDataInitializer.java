@@ -7,9 +7,12 @@ import lombok.RequiredArgsConstructor;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 @Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1) // Before CacheWarmupRunner
 @RequiredArgsConstructor
 public class SettingDataInitializer implements CommandLineRunner {
     private final SettingRepository settingRepository;
@@ -4,15 +4,20 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @MappedSuperclass
 public class BaseEntity {
+    // Per-table pooled sequence (<table>_seq) so inserts can be batched; see PooledSequenceIdGenerator
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "pooled_sequence")
+    @GenericGenerator(name = "pooled_sequence", type = PooledSequenceIdGenerator.class)
     private Long id;
 
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -23,12 +28,17 @@ public class BaseEntity {
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        createdAt = now();
+        updatedAt = now();
     }
 
     @PreUpdate
     protected void onUpdate() {
-        updatedAt = LocalDateTime.now();
+        updatedAt = now();
+    }
+
+    // Match the column precision so managed instances compare equal to what was stored (keyset cursors rely on it)
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
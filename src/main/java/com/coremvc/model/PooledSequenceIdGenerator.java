@@ -0,0 +1,47 @@
+package com.coremvc.model;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence id generator shared by all entities.
+ * <p>
+ * Each table gets its own sequence named {@code <table>_seq}, read through the
+ * pooled-lo optimizer: one {@code nextval} reserves {@code coremvc.id.allocation-size}
+ * ids, which are then handed out in memory. Unlike IDENTITY, ids are known before the
+ * INSERT, so Hibernate can send inserts as JDBC batches ({@code hibernate.jdbc.batch_size}).
+ * </p>
+ * <p>
+ * The sequence's INCREMENT BY must equal the allocation size; see
+ * {@code migrate-to-sequences.sql} for moving existing IDENTITY tables over.
+ * </p>
+ */
+public class PooledSequenceIdGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "coremvc.id.allocation-size";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    public static final String SEQUENCE_SUFFIX = "_seq";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry.getService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+
+        parameters.setProperty(SEQUENCE_PARAM, parameters.getProperty(PersistentIdentifierGenerator.TABLE) + SEQUENCE_SUFFIX);
+        parameters.setProperty(INITIAL_PARAM, "1");
+        parameters.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -10,7 +10,9 @@ import java.math.BigDecimal;
     @Index(name = "idx_product_category", columnList = "category_id"),
     @Index(name = "idx_product_name", columnList = "name"),
     @Index(name = "idx_product_is_active", columnList = "is_active"),
-    @Index(name = "idx_product_created_at", columnList = "created_at")
+    @Index(name = "idx_product_created_at", columnList = "created_at"),
+    @Index(name = "idx_product_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_product_category_created_at_id", columnList = "category_id, created_at, id")
 })
 @Data
 @EqualsAndHashCode(callSuper = false)
@@ -3,8 +3,10 @@ package com.coremvc.repository;
 import com.coremvc.model.Category;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
@@ -13,4 +15,14 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     Page<Category> findByIsActiveTrue(Pageable pageable);
     
     Page<Category> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    // Reads size + 1 rows to detect a next page and skips the count query
+    Slice<Category> findSliceBy(Pageable pageable);
+
+    // Keyset pagination by id; the Pageable carries only the limit and sort, no count query.
+    List<Category> findAllBy(Pageable pageable);
+
+    List<Category> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<Category> findByIdLessThan(Long id, Pageable pageable);
 }
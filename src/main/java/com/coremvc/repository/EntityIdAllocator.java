@@ -0,0 +1,40 @@
+package com.coremvc.repository;
+
+import com.coremvc.model.BaseEntity;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out entity ids for rows written with plain JDBC.
+ * <p>
+ * Ids come from the same Hibernate generator (and pooled-lo block) JPA uses for the
+ * entity, so JDBC and JPA inserts share one id space. Must be called inside a transaction.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityIdAllocator {
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param entityType the mapped entity class
+     * @param count      how many ids to allocate
+     * @return {@code count} new ids
+     */
+    public long[] nextIds(Class<? extends BaseEntity> entityType, int count) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = session.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entityType)
+                .getIdentifierGenerator();
+
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = (Long) generator.generate(session, null);
+        }
+        return ids;
+    }
+}
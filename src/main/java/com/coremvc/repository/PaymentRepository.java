@@ -3,8 +3,10 @@ package com.coremvc.repository;
 import com.coremvc.model.Payment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -16,4 +18,24 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Page<Payment> findByStatus(Payment.PaymentStatus status, Pageable pageable);
 
     Page<Payment> findByUserIdAndStatus(Long userId, Payment.PaymentStatus status, Pageable pageable);
+
+    // Read size + 1 rows to detect a next page and skip the count query
+    Slice<Payment> findSliceBy(Pageable pageable);
+
+    Slice<Payment> findSliceByUserId(Long userId, Pageable pageable);
+
+    long countByUserId(Long userId);
+
+    // Keyset pagination by id; the Pageable carries only the limit and sort, no count query.
+    List<Payment> findAllBy(Pageable pageable);
+
+    List<Payment> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<Payment> findByIdLessThan(Long id, Pageable pageable);
+
+    List<Payment> findAllByUserId(Long userId, Pageable pageable);
+
+    List<Payment> findByUserIdAndIdGreaterThan(Long userId, Long id, Pageable pageable);
+
+    List<Payment> findByUserIdAndIdLessThan(Long userId, Long id, Pageable pageable);
 }
@@ -0,0 +1,70 @@
+package com.coremvc.repository;
+
+import com.coremvc.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Plain JDBC writes for bulk product loads.
+ * <p>
+ * Bypasses the persistence context so large loads do not accumulate managed entities.
+ * Ids come from {@link EntityIdAllocator}, so JDBC and JPA inserts never collide. With {@code reWriteBatchedInserts} the
+ * PostgreSQL driver folds each batch into multi-row INSERT statements.
+ * </p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductJdbcRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO products "
+            + "(id, name, description, price, category_id, thumbnail_url, is_active, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityIdAllocator entityIdAllocator;
+
+    /**
+     * Inserts the products in one JDBC batch, assigning their ids first. Audit timestamps
+     * must already be set. Must run inside a transaction.
+     *
+     * @param products the products to insert
+     */
+    public void insertBatch(List<Product> products) {
+        long[] ids = entityIdAllocator.nextIds(Product.class, products.size());
+        for (int i = 0; i < ids.length; i++) {
+            products.get(i).setId(ids[i]);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Product product = products.get(i);
+                ps.setLong(1, product.getId());
+                ps.setString(2, product.getName());
+                ps.setString(3, product.getDescription());
+                ps.setBigDecimal(4, product.getPrice());
+                if (product.getCategoryId() != null) {
+                    ps.setLong(5, product.getCategoryId());
+                } else {
+                    ps.setNull(5, Types.BIGINT);
+                }
+                ps.setString(6, product.getThumbnailUrl());
+                ps.setBoolean(7, product.getIsActive());
+                ps.setTimestamp(8, Timestamp.valueOf(product.getCreatedAt()));
+                ps.setTimestamp(9, Timestamp.valueOf(product.getUpdatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        });
+    }
+}
@@ -1,13 +1,19 @@
 package com.coremvc.repository;
 
 import com.coremvc.model.Product;
+import com.coremvc.search.ProductSearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
@@ -22,10 +28,105 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
         @QueryHint(name = "org.hibernate.cacheable", value = "false")
     })
     Page<Product> findAllOptimized(Pageable pageable);
+
+    // Slice variants read size + 1 rows to detect a next page and skip the count query
+    @Query("SELECT p FROM Product p")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheable", value = "false")
+    })
+    Slice<Product> findAllOptimizedSlice(Pageable pageable);
+
+    Slice<Product> findSliceByCategoryId(Long categoryId, Pageable pageable);
+
+    Slice<Product> findSliceByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    long countByCategoryId(Long categoryId);
+
+    long countByNameContainingIgnoreCase(String name);
     
     Page<Product> findByCategoryId(Long categoryId, Pageable pageable);
 
     Page<Product> findByIsActiveTrue(Pageable pageable);
 
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    // PostgreSQL full-text search (see FullTextProductSearchEngine).
+    // The tsvector expression must match idx_products_search_tsv and the ILIKE is
+    // served by the trigram index idx_products_name_trgm; both live in create-indexes.sql.
+    String SEARCH_TSVECTOR = "to_tsvector('simple', coalesce(p.name, '') || ' ' || coalesce(p.description, ''))";
+
+    String SEARCH_WHERE = "WHERE " + SEARCH_TSVECTOR + " @@ to_tsquery('simple', :tsQuery) OR p.name ILIKE :pattern";
+
+    String SEARCH_ORDER = " ORDER BY ts_rank(" + SEARCH_TSVECTOR + ", to_tsquery('simple', :tsQuery)) DESC, "
+            + "similarity(p.name, :query) DESC, p.id ASC";
+
+    @Query(value = "SELECT p.* FROM products p " + SEARCH_WHERE + SEARCH_ORDER,
+            countQuery = "SELECT count(*) FROM products p " + SEARCH_WHERE,
+            nativeQuery = true)
+    Page<Product> searchFullText(@Param("tsQuery") String tsQuery, @Param("pattern") String pattern,
+                                 @Param("query") String query, Pageable pageable);
+
+    @Query(value = "SELECT p.* FROM products p " + SEARCH_WHERE + SEARCH_ORDER, nativeQuery = true)
+    Slice<Product> searchFullTextSlice(@Param("tsQuery") String tsQuery, @Param("pattern") String pattern,
+                                       @Param("query") String query, Pageable pageable);
+
+    @Query(value = "SELECT count(*) FROM products p " + SEARCH_WHERE, nativeQuery = true)
+    long countFullText(@Param("tsQuery") String tsQuery, @Param("pattern") String pattern);
+
+    // Server-side cursor over the whole table for exports; must be consumed inside a transaction
+    // so the driver streams with the fetch size instead of reading every row up front
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true"),
+        @QueryHint(name = "org.hibernate.cacheable", value = "false")
+    })
+    Stream<Product> streamAllBy();
+
+    // Batched scan used to build the in-memory search index; scalar rows are not managed by the session
+    @Query("SELECT new com.coremvc.search.ProductSearchDocument(p.id, p.name, p.description) "
+            + "FROM Product p WHERE p.id > :id ORDER BY p.id")
+    List<ProductSearchDocument> findSearchDocumentsAfter(@Param("id") Long id, Pageable pageable);
+
+    // Keyset pagination over (created_at, id), newest first.
+    // The bound is written as "created_at <= x AND (created_at < x OR id < y)" so the
+    // planner can range-scan the (created_at, id) index instead of filtering every row.
+    // Pageable only carries the row limit; no count query is issued.
+    @Query("SELECT p FROM Product p ORDER BY p.createdAt DESC, p.id DESC")
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<Product> findLatest(Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<Product> findOlderThan(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.createdAt >= :createdAt AND (p.createdAt > :createdAt OR p.id > :id) "
+            + "ORDER BY p.createdAt ASC, p.id ASC")
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<Product> findNewerThan(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.categoryId = :categoryId ORDER BY p.createdAt DESC, p.id DESC")
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<Product> findLatestByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.categoryId = :categoryId "
+            + "AND p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id) "
+            + "ORDER BY p.createdAt DESC, p.id DESC")
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<Product> findOlderThanByCategoryId(@Param("categoryId") Long categoryId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query("SELECT p FROM Product p WHERE p.categoryId = :categoryId "
+            + "AND p.createdAt >= :createdAt AND (p.createdAt > :createdAt OR p.id > :id) "
+            + "ORDER BY p.createdAt ASC, p.id ASC")
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    List<Product> findNewerThanByCategoryId(@Param("categoryId") Long categoryId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
 }
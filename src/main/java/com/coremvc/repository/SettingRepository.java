@@ -3,8 +3,10 @@ package com.coremvc.repository;
 import com.coremvc.model.Setting;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface SettingRepository extends JpaRepository<Setting, Long> {
@@ -15,4 +17,14 @@ public interface SettingRepository extends JpaRepository<Setting, Long> {
     Page<Setting> findByIsActiveTrue(Pageable pageable);
     
     Page<Setting> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    // Reads size + 1 rows to detect a next page and skips the count query
+    Slice<Setting> findSliceBy(Pageable pageable);
+
+    // Keyset pagination by id; the Pageable carries only the limit and sort, no count query.
+    List<Setting> findAllBy(Pageable pageable);
+
+    List<Setting> findByIdGreaterThan(Long id, Pageable pageable);
+
+    List<Setting> findByIdLessThan(Long id, Pageable pageable);
 }
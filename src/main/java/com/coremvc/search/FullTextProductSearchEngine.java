@@ -0,0 +1,81 @@
+package com.coremvc.search;
+
+import com.coremvc.model.Product;
+import com.coremvc.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL search backed by {@code tsvector} and {@code pg_trgm} GIN indexes.
+ * <p>
+ * A product matches when every query word is a prefix of a word in its name or
+ * description, or when the whole query is a substring of its name. Results are
+ * ranked by {@code ts_rank}, then by trigram similarity to the name.
+ * Requires the indexes from {@code create-indexes.sql}.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class FullTextProductSearchEngine implements ProductSearchEngine {
+
+    public static final String NAME = "fulltext";
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Page<Product> search(String query, Pageable pageable) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
+        }
+        return productRepository.searchFullText(toTsQuery(tokens), toLikePattern(query), query.trim(), unsorted(pageable));
+    }
+
+    @Override
+    public Slice<Product> searchSlice(String query, Pageable pageable) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+        return productRepository.searchFullTextSlice(toTsQuery(tokens), toLikePattern(query), query.trim(), unsorted(pageable));
+    }
+
+    @Override
+    public long count(String query) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return 0;
+        }
+        return productRepository.countFullText(toTsQuery(tokens), toLikePattern(query));
+    }
+
+    // "red sho" -> "red:* & sho:*"
+    static String toTsQuery(List<String> tokens) {
+        return tokens.stream().map(token -> token + ":*").collect(Collectors.joining(" & "));
+    }
+
+    static String toLikePattern(String query) {
+        String escaped = query.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    // Ordering is fixed by the query; a client sort would be appended after the rank
+    private static Pageable unsorted(Pageable pageable) {
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+    }
+}
@@ -0,0 +1,235 @@
+package com.coremvc.search;
+
+import com.coremvc.dto.SearchIndexStatsDto;
+import com.coremvc.model.Product;
+import com.coremvc.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers product searches from an in-process inverted index over product names and
+ * descriptions; the database is only used to load the products of the requested page.
+ * <p>
+ * Matching follows the full-text engine: every query word must be a prefix of a word
+ * in the product. Results are ordered by id. The index is built at startup, kept up to
+ * date by {@link com.coremvc.service.ProductService} writes on this instance, and can be
+ * rebuilt by an admin. Products written by other instances or directly in the database
+ * only appear after a rebuild.
+ * </p>
+ */
+@Slf4j
+public class InMemoryProductSearchEngine implements ProductSearchEngine {
+
+    public static final String NAME = "memory";
+
+    private final ProductRepository productRepository;
+    private final int batchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private ProductInvertedIndex index = new ProductInvertedIndex();
+    private volatile boolean rebuilding;
+    private volatile LocalDateTime lastRebuiltAt;
+    private volatile long lastRebuildMillis;
+
+    public InMemoryProductSearchEngine(ProductRepository productRepository, int batchSize) {
+        this.productRepository = productRepository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Page<Product> search(String query, Pageable pageable) {
+        long[] ids = match(query);
+        return new PageImpl<>(load(ids, pageable), pageable, ids.length);
+    }
+
+    @Override
+    public Slice<Product> searchSlice(String query, Pageable pageable) {
+        long[] ids = match(query);
+        return new SliceImpl<>(load(ids, pageable), pageable, pageable.getOffset() + pageable.getPageSize() < ids.length);
+    }
+
+    @Override
+    public long count(String query) {
+        return match(query).length;
+    }
+
+    @Override
+    public void onProductSaved(Product product) {
+        lock.writeLock().lock();
+        try {
+            index.put(product.getId(), product.getName(), product.getDescription());
+            if (rebuilding) {
+                changedDuringRebuild.add(product.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onProductDeleted(Long productId) {
+        lock.writeLock().lock();
+        try {
+            index.remove(productId);
+            if (rebuilding) {
+                changedDuringRebuild.add(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<SearchIndexStatsDto> indexStats() {
+        lock.readLock().lock();
+        try {
+            return Optional.of(SearchIndexStatsDto.builder()
+                    .engine(NAME)
+                    .documents(index.documentCount())
+                    .terms(index.termCount())
+                    .postings(index.postingCount())
+                    .estimatedBytes(index.estimatedBytes())
+                    .rebuilding(rebuilding)
+                    .lastRebuiltAt(lastRebuiltAt)
+                    .lastRebuildMillis(lastRebuildMillis)
+                    .build());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new index from the database while searches keep using the current one,
+     * then swaps it in. Products written during the build are re-read, in one query and
+     * before searches are blocked, and applied after the swap so their changes are not lost.
+     */
+    @Override
+    public synchronized Optional<SearchIndexStatsDto> rebuild() {
+        long start = System.currentTimeMillis();
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        try {
+            ProductInvertedIndex rebuilt = new ProductInvertedIndex();
+            long lastId = 0;
+            List<ProductSearchDocument> batch;
+            do {
+                batch = productRepository.findSearchDocumentsAfter(lastId, PageRequest.of(0, batchSize));
+                for (ProductSearchDocument document : batch) {
+                    rebuilt.put(document.id(), document.name(), document.description());
+                    lastId = document.id();
+                }
+            } while (batch.size() == batchSize);
+
+            // Re-read products written during the build in one query, before blocking searches
+            Set<Long> changedIds = Set.copyOf(changedDuringRebuild);
+            changedDuringRebuild.removeAll(changedIds);
+            Map<Long, Product> changed = findAllById(changedIds);
+            lock.writeLock().lock();
+            try {
+                index = rebuilt;
+                apply(changedIds, changed);
+                // Written while the others were read; writes wait for the lock, so this is final
+                if (!changedDuringRebuild.isEmpty()) {
+                    Set<Long> lateIds = Set.copyOf(changedDuringRebuild);
+                    apply(lateIds, findAllById(lateIds));
+                }
+                rebuilding = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        }
+
+        lastRebuiltAt = LocalDateTime.now();
+        lastRebuildMillis = System.currentTimeMillis() - start;
+        SearchIndexStatsDto stats = indexStats().orElseThrow();
+        log.info("Product search index rebuilt in {} ms: {} products, {} terms, ~{} KB",
+                lastRebuildMillis, stats.getDocuments(), stats.getTerms(), stats.getEstimatedBytes() / 1024);
+        return Optional.of(stats);
+    }
+
+    private Map<Long, Product> findAllById(Set<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return productRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+    }
+
+    /**
+     * Re-indexes products from their current rows; ids without a row were deleted.
+     * Requires the write lock.
+     */
+    private void apply(Set<Long> ids, Map<Long, Product> products) {
+        for (Long id : ids) {
+            Product product = products.get(id);
+            if (product != null) {
+                index.put(id, product.getName(), product.getDescription());
+            } else {
+                index.remove(id);
+            }
+        }
+    }
+
+    private long[] match(String query) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            return index.search(tokens);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Product> load(long[] ids, Pageable pageable) {
+        if (pageable.getOffset() >= ids.length) {
+            return List.of();
+        }
+        int from = (int) pageable.getOffset();
+        int to = Math.min(ids.length, from + pageable.getPageSize());
+        List<Long> pageIds = Arrays.stream(ids, from, to).boxed().toList();
+
+        Map<Long, Product> byId = productRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Keep index order; skip products deleted since the index was read
+        List<Product> products = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            Product product = byId.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+}
@@ -0,0 +1,43 @@
+package com.coremvc.search;
+
+import com.coremvc.model.Product;
+import com.coremvc.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Portable fallback: case-insensitive substring match on the product name.
+ * <p>
+ * Runs on any database (H2 in tests) but cannot use a B-tree index, so every
+ * search scans the whole table.
+ * </p>
+ */
+@RequiredArgsConstructor
+public class LikeProductSearchEngine implements ProductSearchEngine {
+
+    public static final String NAME = "like";
+
+    private final ProductRepository productRepository;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public Page<Product> search(String query, Pageable pageable) {
+        return productRepository.findByNameContainingIgnoreCase(query, pageable);
+    }
+
+    @Override
+    public Slice<Product> searchSlice(String query, Pageable pageable) {
+        return productRepository.findSliceByNameContainingIgnoreCase(query, pageable);
+    }
+
+    @Override
+    public long count(String query) {
+        return productRepository.countByNameContainingIgnoreCase(query);
+    }
+}
@@ -0,0 +1,209 @@
+package com.coremvc.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Term to product-id inverted index.
+ * <p>
+ * Each term maps to a sorted {@code long[]} posting list; a forward map from id to
+ * terms makes removals proportional to the size of the removed document. Terms are
+ * kept in a sorted map so a query word matches every term it is a prefix of.
+ * </p>
+ * <p>
+ * Not thread-safe; {@link InMemoryProductSearchEngine} guards it with a read/write lock.
+ * </p>
+ */
+final class ProductInvertedIndex {
+
+    private static final long[] EMPTY = new long[0];
+
+    // Rough per-object costs on a 64-bit JVM with compressed oops
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final int TREE_ENTRY_BYTES = 40;
+    private static final int HASH_ENTRY_BYTES = 48;
+
+    private final NavigableMap<String, PostingList> terms = new TreeMap<>();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private long postings;
+
+    void put(long id, String... texts) {
+        remove(id);
+
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            tokens.addAll(SearchTokenizer.tokenize(text));
+        }
+        if (tokens.isEmpty()) {
+            return;
+        }
+
+        String[] documentTerms = new String[tokens.size()];
+        int i = 0;
+        for (String token : tokens) {
+            PostingList list = terms.computeIfAbsent(token, PostingList::new);
+            if (list.add(id)) {
+                postings++;
+            }
+            // Share the map key instead of keeping one String per document
+            documentTerms[i++] = list.term;
+        }
+        documents.put(id, documentTerms);
+    }
+
+    void remove(long id) {
+        String[] documentTerms = documents.remove(id);
+        if (documentTerms == null) {
+            return;
+        }
+        for (String term : documentTerms) {
+            PostingList list = terms.get(term);
+            if (list != null && list.remove(id)) {
+                postings--;
+                if (list.size == 0) {
+                    terms.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the ids, ascending, of documents containing a term starting with each
+     * of the given prefixes.
+     */
+    long[] search(List<String> prefixes) {
+        long[] result = null;
+        for (String prefix : new LinkedHashSet<>(prefixes)) {
+            long[] matches = union(terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+            result = result == null ? matches : intersect(result, matches);
+            if (result.length == 0) {
+                return EMPTY;
+            }
+        }
+        return result != null ? result : EMPTY;
+    }
+
+    int documentCount() {
+        return documents.size();
+    }
+
+    int termCount() {
+        return terms.size();
+    }
+
+    long postingCount() {
+        return postings;
+    }
+
+    long estimatedBytes() {
+        long bytes = 0;
+        for (PostingList list : terms.values()) {
+            bytes += TREE_ENTRY_BYTES
+                    + OBJECT_HEADER_BYTES + REFERENCE_BYTES * 2L + Integer.BYTES
+                    + ARRAY_HEADER_BYTES + (long) Long.BYTES * list.ids.length
+                    + OBJECT_HEADER_BYTES + ARRAY_HEADER_BYTES + list.term.length();
+        }
+        for (String[] documentTerms : documents.values()) {
+            bytes += HASH_ENTRY_BYTES + OBJECT_HEADER_BYTES + Long.BYTES
+                    + ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * documentTerms.length;
+        }
+        return bytes;
+    }
+
+    private static long[] union(Iterable<PostingList> lists) {
+        List<PostingList> matched = new ArrayList<>();
+        int total = 0;
+        for (PostingList list : lists) {
+            matched.add(list);
+            total += list.size;
+        }
+        if (matched.isEmpty()) {
+            return EMPTY;
+        }
+        if (matched.size() == 1) {
+            return Arrays.copyOf(matched.get(0).ids, matched.get(0).size);
+        }
+
+        long[] merged = new long[total];
+        int offset = 0;
+        for (PostingList list : matched) {
+            System.arraycopy(list.ids, 0, merged, offset, list.size);
+            offset += list.size;
+        }
+        Arrays.sort(merged);
+
+        int unique = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (i == 0 || merged[i] != merged[i - 1]) {
+                merged[unique++] = merged[i];
+            }
+        }
+        return Arrays.copyOf(merged, unique);
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static final class PostingList {
+        private final String term;
+        private long[] ids = new long[2];
+        private int size;
+
+        private PostingList(String term) {
+            this.term = term;
+        }
+
+        private boolean add(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return false;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+            return true;
+        }
+
+        private boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            if (size > 0 && size * 4 < ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(2, size * 2));
+            }
+            return true;
+        }
+    }
+}
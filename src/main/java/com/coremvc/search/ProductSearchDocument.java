@@ -0,0 +1,8 @@
+package com.coremvc.search;
+
+/**
+ * The searchable fields of a product, loaded as a scalar projection so that
+ * index rebuilds do not fill the persistence context with managed entities.
+ */
+public record ProductSearchDocument(Long id, String name, String description) {
+}
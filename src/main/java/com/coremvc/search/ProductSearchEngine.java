@@ -0,0 +1,79 @@
+package com.coremvc.search;
+
+import com.coremvc.dto.SearchIndexStatsDto;
+import com.coremvc.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Optional;
+
+/**
+ * Strategy for answering product name searches.
+ * <p>
+ * The active engine is chosen once at startup from {@code product.search.engine}
+ * (see {@link com.coremvc.config.SearchConfig}). Results are returned in relevance
+ * order; the sort of the supplied {@link Pageable} is ignored.
+ * </p>
+ */
+public interface ProductSearchEngine {
+
+    /**
+     * @return short engine name used in configuration and logs
+     */
+    String name();
+
+    /**
+     * Searches products and counts all matches.
+     *
+     * @param query    the raw user query
+     * @param pageable page number and size
+     * @return the matching page
+     */
+    Page<Product> search(String query, Pageable pageable);
+
+    /**
+     * Searches products without counting all matches.
+     *
+     * @param query    the raw user query
+     * @param pageable page number and size
+     * @return the matching slice
+     */
+    Slice<Product> searchSlice(String query, Pageable pageable);
+
+    /**
+     * Counts all products matching the query.
+     *
+     * @param query the raw user query
+     * @return the number of matches
+     */
+    long count(String query);
+
+    /**
+     * Called after a product was created or updated through the service.
+     */
+    default void onProductSaved(Product product) {
+    }
+
+    /**
+     * Called after a product was deleted through the service.
+     */
+    default void onProductDeleted(Long productId) {
+    }
+
+    /**
+     * @return index statistics, or empty when the engine keeps no index of its own
+     */
+    default Optional<SearchIndexStatsDto> indexStats() {
+        return Optional.empty();
+    }
+
+    /**
+     * Rebuilds the engine's index from the database.
+     *
+     * @return statistics of the new index, or empty when the engine keeps no index of its own
+     */
+    default Optional<SearchIndexStatsDto> rebuild() {
+        return Optional.empty();
+    }
+}
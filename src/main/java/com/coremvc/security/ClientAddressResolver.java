@@ -0,0 +1,98 @@
+package com.coremvc.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the address of the client behind the load balancer and reverse proxies.
+ * <p>
+ * {@code X-Forwarded-For} is only believed when the request comes from one of
+ * {@code auth.trusted-proxies} (addresses or CIDR ranges). The header is then read from
+ * right to left, skipping further trusted proxies, and the first untrusted hop is the
+ * client. Hops a client prepends itself sit left of that and are never reached, so the
+ * header cannot be used to pose as another client. Requests from untrusted addresses
+ * keep their own address whatever header they send.
+ * </p>
+ */
+@Component
+public class ClientAddressResolver {
+
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private static final String OCTET = "(25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])";
+
+    // Only IP literals are matched: IpAddressMatcher would resolve a host name through DNS
+    private static final Pattern IP_LITERAL = Pattern.compile(OCTET + "(\\." + OCTET + "){3}|[0-9a-fA-F:]*:[0-9a-fA-F:.]*");
+
+    @Value("${auth.trusted-proxies:127.0.0.0/8,::1,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16}")
+    private List<String> trustedProxies;
+
+    private List<IpAddressMatcher> trustedMatchers;
+
+    @PostConstruct
+    void init() {
+        trustedMatchers = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    /**
+     * Returns the client's IP address, or the remote address if it is not a trusted proxy.
+     *
+     * @param request the HTTP request
+     * @return the client address
+     */
+    public String resolve(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+        if (forwardedFor == null || !isTrusted(address)) {
+            return address;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!isIpLiteral(hop)) {
+                // Malformed hop: the last address known to be genuine is the best we have
+                return address;
+            }
+            address = hop;
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+        }
+        return address;
+    }
+
+    private boolean isTrusted(String address) {
+        if (!isIpLiteral(address)) {
+            return false;
+        }
+        for (IpAddressMatcher matcher : trustedMatchers) {
+            if (matcher.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isIpLiteral(String address) {
+        if (!IP_LITERAL.matcher(address).matches()) {
+            return false;
+        }
+        try {
+            // Rejects colon-separated strings that are not valid IPv6 addresses
+            new IpAddressMatcher(address);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -56,6 +56,19 @@ public class JwtExceptionHandler {
         writeError(response, "INVALID_TOKEN", "Invalid token. Please login again.");
     }
 
+    /**
+     * Handles revoked JWT tokens (e.g. after logout).
+     * <p>
+     * Returns a 401 response with TOKEN_REVOKED error code.
+     * </p>
+     *
+     * @param response the HTTP response
+     * @throws IOException if writing response fails
+     */
+    public void handleRevokedToken(HttpServletResponse response) throws IOException {
+        writeError(response, "TOKEN_REVOKED", "Token has been revoked. Please login again.");
+    }
+
     /**
      * Writes a standardized JSON error response.
      * <p>
@@ -1,6 +1,5 @@
 package com.coremvc.security;
 
-import com.coremvc.util.JwtUtil;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -29,7 +28,7 @@ import java.util.List;
  * <p>
  * Key features:
  * <ul>
- *   <li>Validates JWT tokens and extracts user claims (UUID, role)</li>
+ *   <li>Validates JWT tokens and extracts user claims (UUID, role) in a single parse</li>
  *   <li>Sets up Spring Security authentication context with user authorities</li>
  *   <li>Delegates error handling to {@link JwtExceptionHandler}</li>
  *   <li>Clears security context on invalid tokens for safety</li>
@@ -46,7 +45,8 @@ import java.util.List;
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
     private final JwtExceptionHandler jwtExceptionHandler;
 
     /**
@@ -55,7 +55,8 @@ public class JwtFilter extends OncePerRequestFilter {
      * Process flow:
      * <ol>
      *   <li>Extract JWT from Authorization header (if present)</li>
-     *   <li>Validate token and extract user claims (UUID, role)</li>
+     *   <li>Verify token and extract user claims (UUID, role) via {@link VerifiedTokenCache}</li>
+     *   <li>Reject revoked tokens (see {@link TokenRevocationList})</li>
      *   <li>Set up Spring Security authentication context with authorities</li>
      *   <li>Handle token expiration and validation errors via exception handler</li>
      *   <li>Clear security context on invalid tokens for safety</li>
@@ -94,34 +95,34 @@ public class JwtFilter extends OncePerRequestFilter {
         String token = authHeader.substring(7);
 
         try {
-            // Extract user information from token
-            String uuid = jwtUtil.extractUuid(token);
-            String role = jwtUtil.extractRole(token);
+            // Verify signature and expiry and read the claims in one parse, unless already verified
+            JwtPrincipal principal = verifiedTokenCache.verify(token);
+            if (tokenRevocationList.isRevoked(principal.jti())) {
+                log.warn("Revoked JWT token used");
+                SecurityContextHolder.clearContext();
+                jwtExceptionHandler.handleRevokedToken(response);
+                return;
+            }
+            String uuid = principal.uuid();
+            String role = principal.role();
 
             // Only set authentication if not already authenticated
             if (uuid != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                // Validate token
-                if (jwtUtil.validateToken(token)) {
-
-                    // Build authorities from role
-                    List<SimpleGrantedAuthority> authorities = role != null
-                            ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                            : Collections.emptyList();
-
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(uuid, null, authorities);
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    // Set authentication in security context
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    
-                    log.debug("Authentication set for user: {}", uuid);
-                } else {
-                    log.warn("JWT token validation failed");
-                    SecurityContextHolder.clearContext();
-                }
+                // Build authorities from role
+                List<SimpleGrantedAuthority> authorities = role != null
+                        ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                        : Collections.emptyList();
+
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(uuid, null, authorities);
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+                // Set authentication in security context
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                log.debug("Authentication set for user: {}", uuid);
             }
         } catch (ExpiredJwtException e) {
             log.warn("JWT token has expired");
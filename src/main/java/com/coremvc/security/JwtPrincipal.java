@@ -0,0 +1,24 @@
+package com.coremvc.security;
+
+import java.time.Instant;
+
+/**
+ * The claims of a verified JWT.
+ * <p>
+ * Produced by {@link com.coremvc.util.JwtUtil#verify(String)} from a single parse of the
+ * token, so callers never need to parse it again.
+ * </p>
+ *
+ * @param uuid      the user's unique identifier (token subject)
+ * @param role      the user's role, {@code null} for refresh tokens
+ * @param email     the user's email address, {@code null} for refresh tokens
+ * @param jti       the token's unique id, used for revocation; {@code null} for tokens issued without one
+ * @param type      {@code "refresh"} for refresh tokens, {@code null} for access tokens
+ * @param expiresAt when the token expires
+ */
+public record JwtPrincipal(String uuid, String role, String email, String jti, String type, Instant expiresAt) {
+
+    public boolean isRefreshToken() {
+        return "refresh".equals(type);
+    }
+}
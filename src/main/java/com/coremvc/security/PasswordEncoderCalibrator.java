@@ -0,0 +1,143 @@
+package com.coremvc.security;
+
+import com.coremvc.config.PasswordHashProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Builds the application's {@link DelegatingPasswordEncoder}.
+ * <p>
+ * By default the BCrypt strength and Argon2 iterations are the configured values, the same
+ * on every node, and {@link PasswordEncoder#upgradeEncoding} reports hashes made with a
+ * lower cost. With {@code calibrate} enabled, new hashes use a cost measured on the node
+ * itself: a few hashes are timed at the minimum cost and the cost is raised as far as
+ * {@code target-latency} allows. BCrypt doubles its work per strength step; Argon2 grows
+ * linearly with its iterations. Upgrades are still only reported below the configured
+ * cost: nodes calibrate differently, and re-hashing up to the cost of whichever node a
+ * user logged in on would ratchet every hash up to the fastest node's cost. Both
+ * algorithms record their parameters in the hash, so hashes of any cost stay valid.
+ * </p>
+ * <p>
+ * Argon2 needs BouncyCastle on the classpath; without it, Argon2 hashes are rejected and
+ * selecting {@code argon2} fails at startup.
+ * </p>
+ */
+@Slf4j
+public final class PasswordEncoderCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private static final int SAMPLES = 3;
+
+    private static final boolean ARGON2_AVAILABLE =
+            ClassUtils.isPresent("org.bouncycastle.crypto.generators.Argon2BytesGenerator", null);
+
+    private PasswordEncoderCalibrator() {
+    }
+
+    /**
+     * @throws IllegalStateException if the configured algorithm is unknown or unavailable
+     */
+    public static PasswordEncoder build(PasswordHashProperties properties) {
+        String algorithm = properties.getAlgorithm();
+        PasswordHashProperties.Bcrypt bcrypt = properties.getBcrypt();
+        PasswordHashProperties.Argon2 argon2 = properties.getArgon2();
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        // BCrypt and Argon2 verify with the parameters stored in the hash; ours only matter for new hashes
+        BCryptPasswordEncoder bcryptEncoder = new BCryptPasswordEncoder(bcrypt.getStrength());
+        encoders.put("bcrypt", "bcrypt".equals(algorithm) && properties.isCalibrate()
+                ? new CalibratedEncoder(new BCryptPasswordEncoder(calibrate("bcrypt", bcrypt.getMinStrength(),
+                        bcrypt.getMaxStrength(), true, properties.getTargetLatency(), BCryptPasswordEncoder::new)),
+                        bcryptEncoder)
+                : bcryptEncoder);
+        encoders.put("pbkdf2", new Pbkdf2PasswordEncoder("", 16, properties.getPbkdf2().getIterations(),
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        if (ARGON2_AVAILABLE) {
+            IntFunction<PasswordEncoder> argon2Encoder = iterations ->
+                    new Argon2PasswordEncoder(16, 32, argon2.getParallelism(), argon2.getMemory(), iterations);
+            PasswordEncoder configured = argon2Encoder.apply(argon2.getIterations());
+            encoders.put("argon2", "argon2".equals(algorithm) && properties.isCalibrate()
+                    ? new CalibratedEncoder(argon2Encoder.apply(calibrate("argon2", argon2.getMinIterations(),
+                            argon2.getMaxIterations(), false, properties.getTargetLatency(), argon2Encoder)),
+                            configured)
+                    : configured);
+        }
+
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalStateException("Password hash algorithm '" + algorithm + "' is not available; expected one of "
+                    + encoders.keySet() + (ARGON2_AVAILABLE ? "" : " (argon2 requires BouncyCastle)"));
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        // Hashes stored before the {id} prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(bcryptEncoder);
+        return encoder;
+    }
+
+    /**
+     * Finds the highest cost within [min, max] whose hash time stays within the target.
+     *
+     * @param exponential whether each cost step doubles the work (BCrypt) or adds the base work (Argon2)
+     */
+    private static int calibrate(String algorithm, int min, int max, boolean exponential, Duration target,
+                                 IntFunction<PasswordEncoder> encoderForCost) {
+        PasswordEncoder encoder = encoderForCost.apply(min);
+        // Warm-up: the first hash includes class loading and JIT compilation
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long median = Math.max(1, samples[SAMPLES / 2]);
+
+        double ratio = (double) target.toNanos() / median;
+        int cost = min;
+        if (exponential) {
+            while (cost < max && ratio >= 2) {
+                cost++;
+                ratio /= 2;
+            }
+        } else {
+            cost = (int) Math.max(min, Math.min(max, Math.floor(min * ratio)));
+        }
+        log.info("Calibrated {} cost {} (one hash at cost {} takes {} ms, target {} ms)",
+                algorithm, cost, min, median / 1_000_000, target.toMillis());
+        return cost;
+    }
+
+    /**
+     * Hashes with this node's calibrated cost, but reports upgrades against the configured
+     * cost, which every node shares.
+     */
+    private record CalibratedEncoder(PasswordEncoder calibrated, PasswordEncoder configured) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return calibrated.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return calibrated.matches(rawPassword, encodedPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return configured.upgradeEncoding(encodedPassword);
+        }
+    }
+}
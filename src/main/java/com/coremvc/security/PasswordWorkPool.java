@@ -0,0 +1,207 @@
+package com.coremvc.security;
+
+import com.coremvc.exception.ServiceUnavailableException;
+import com.coremvc.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool for password hashing and verification.
+ * <p>
+ * Password hashes are deliberately expensive (tens of milliseconds of CPU each), so they
+ * run on a few dedicated threads instead of request threads: a login burst then queues
+ * here and cannot take CPU or request threads from the other endpoints. Callers get a
+ * {@link CompletableFuture} and the request thread is released while the hash runs.
+ * </p>
+ * <p>
+ * Work is rejected immediately, never queued without bound: with
+ * {@link ServiceUnavailableException} (503) when the queue is full or a task waited longer
+ * than {@code max-queue-wait}, and with {@link TooManyRequestsException} (429) when one
+ * client already has {@code per-client-limit} hashes queued or running.
+ * </p>
+ * <p>
+ * The returned futures complete on the application task executor, after the client's slot
+ * is released: the caller's stages (saving a user, signing tokens, re-hashing a password)
+ * then neither run on a hashing thread nor count against the client's limit.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordWorkPool {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final MeterRegistry meterRegistry;
+
+    private final TaskExecutor applicationTaskExecutor;
+
+    @Value("${auth.password-pool.threads:0}")
+    private int threads;
+
+    @Value("${auth.password-pool.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${auth.password-pool.per-client-limit:4}")
+    private int perClientLimit;
+
+    @Value("${auth.password-pool.max-queue-wait:2s}")
+    private Duration maxQueueWait;
+
+    private final Map<String, Integer> inFlightByClient = new ConcurrentHashMap<>();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        // Default: half the cores, so hashing can never take all CPU from the other endpoints
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hashes a password.
+     *
+     * @param clientId the client to count against its concurrency limit, e.g. its IP address
+     * @throws TooManyRequestsException if the client is at its limit
+     * @throws ServiceUnavailableException if the pool is saturated
+     */
+    public CompletableFuture<String> encode(String rawPassword, String clientId) {
+        return submit("encode", clientId, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against a stored hash.
+     *
+     * @param clientId the client to count against its concurrency limit, e.g. its IP address
+     * @throws TooManyRequestsException if the client is at its limit
+     * @throws ServiceUnavailableException if the pool is saturated
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword, String clientId) {
+        return submit("matches", clientId, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether a stored hash was made with another algorithm or a lower cost than new hashes
+     * and should be replaced. Cheap: only parses the hash.
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(String operation, String clientId, Supplier<T> work) {
+        if (!acquire(clientId)) {
+            reject(operation, "client_limit");
+            throw new TooManyRequestsException("Too many concurrent authentication requests");
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                T value = null;
+                RuntimeException failure = null;
+                try {
+                    long started = System.nanoTime();
+                    timer("auth.password.queue", "Time password hashes wait for a thread", operation)
+                            .record(started - queuedAt, TimeUnit.NANOSECONDS);
+                    // The client has most likely given up; do not spend the CPU
+                    if (started - queuedAt > maxQueueWait.toNanos()) {
+                        reject(operation, "queue_timeout");
+                        failure = new ServiceUnavailableException("Authentication is busy, please retry");
+                    } else {
+                        value = work.get();
+                        timer("auth.password.hash", "Time spent hashing or verifying passwords", operation)
+                                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    }
+                } catch (RuntimeException e) {
+                    failure = e;
+                } finally {
+                    release(clientId);
+                }
+                complete(result, value, failure);
+            });
+        } catch (RejectedExecutionException e) {
+            release(clientId);
+            reject(operation, "saturated");
+            throw new ServiceUnavailableException("Authentication is busy, please retry");
+        }
+        return result;
+    }
+
+    private <T> void complete(CompletableFuture<T> result, T value, RuntimeException failure) {
+        Runnable completion = () -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+            } else {
+                result.complete(value);
+            }
+        };
+        try {
+            applicationTaskExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            // The slot is already released; running the caller's stages here beats losing the result
+            completion.run();
+        }
+    }
+
+    private boolean acquire(String clientId) {
+        boolean[] acquired = new boolean[1];
+        inFlightByClient.compute(clientId, (id, inFlight) -> {
+            int current = inFlight != null ? inFlight : 0;
+            acquired[0] = current < perClientLimit;
+            return acquired[0] ? current + 1 : inFlight;
+        });
+        return acquired[0];
+    }
+
+    private void release(String clientId) {
+        inFlightByClient.computeIfPresent(clientId, (id, inFlight) -> inFlight > 1 ? inFlight - 1 : null);
+    }
+
+    private void reject(String operation, String reason) {
+        meterRegistry.counter("auth.password.rejected", "operation", operation, "reason", reason).increment();
+    }
+
+    private Timer timer(String name, String description, String operation) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void close() {
+        executor.shutdownNow();
+    }
+}
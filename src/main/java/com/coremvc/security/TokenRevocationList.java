@@ -0,0 +1,191 @@
+package com.coremvc.security;
+
+import com.coremvc.cache.RedisSubscriptions;
+import com.coremvc.cache.RemoteCacheGuard;
+import com.coremvc.util.BloomFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Revoked JWTs, identified by their {@code jti} claim.
+ * <p>
+ * Every revocation is stored in Redis under {@code coremvc:revoked:<jti>} with a TTL equal
+ * to the token's remaining lifetime, so the list only holds tokens that would otherwise
+ * still be accepted. Each instance keeps a Bloom filter of the revoked ids in front of
+ * Redis: {@link #isRevoked} answers "not revoked" from memory for almost every token and
+ * only asks Redis on a probable hit. Revocations are published on a Redis channel and added
+ * to the filters of all instances; the filter is also rebuilt from Redis periodically,
+ * which drops expired revocations and recovers revocations missed during a disconnect.
+ * </p>
+ * <p>
+ * If Redis cannot be reached for a probable hit, the token is treated as revoked.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationList implements MessageListener {
+
+    private static final String KEY_PREFIX = "coremvc:revoked:";
+
+    private static final String GUARD_NAME = "jwt.revocation";
+
+    private final StringRedisTemplate redisTemplate;
+
+    private final RedisSubscriptions redisSubscriptions;
+
+    private final RemoteCacheGuard guard;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.revocation.channel:coremvc:token-revocation}")
+    private String channel;
+
+    @Value("${jwt.revocation.bloom.expected-insertions:100000}")
+    private long expectedInsertions;
+
+    @Value("${jwt.revocation.bloom.false-positive-probability:0.01}")
+    private double falsePositiveProbability;
+
+    @Value("${jwt.revocation.rebuild-interval:10m}")
+    private Duration rebuildInterval;
+
+    private final ScheduledExecutorService rebuilder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "token-revocation-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile BloomFilter filter;
+
+    // Filter being rebuilt; revocations arriving meanwhile go into both
+    private volatile BloomFilter rebuilding;
+
+    @PostConstruct
+    void init() {
+        filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        redisSubscriptions.addMessageListener(this, new ChannelTopic(channel));
+        rebuild();
+        rebuilder.scheduleWithFixedDelay(this::rebuild, rebuildInterval.toMillis(), rebuildInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Revokes a token until it expires.
+     *
+     * @param jti       the token's id; tokens without one cannot be revoked
+     * @param expiresAt the token's expiry
+     * @return {@code false} if the token was already revoked
+     */
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null) {
+            return true;
+        }
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (remaining.isNegative() || remaining.isZero()) {
+            return true;
+        }
+        // SET NX: of two concurrent revocations (e.g. a refresh token used twice) only one wins
+        Boolean first = guard.call(GUARD_NAME,
+                () -> redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + jti, "1", remaining), null);
+        add(jti);
+        guard.run(GUARD_NAME, () -> redisTemplate.convertAndSend(channel, jti));
+        meterRegistry.counter("jwt.revocation.revoked").increment();
+        return first == null || first;
+    }
+
+    /**
+     * Revokes a verified token and drops it from the {@link VerifiedTokenCache}.
+     *
+     * @return {@code false} if the token was already revoked
+     */
+    public boolean revoke(String token, JwtPrincipal principal) {
+        verifiedTokenCache.evict(token);
+        return revoke(principal.jti(), principal.expiresAt());
+    }
+
+    /**
+     * Whether a token was revoked. Touches Redis only if the Bloom filter reports a probable hit.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Boolean revoked = guard.call(GUARD_NAME, () -> redisTemplate.hasKey(KEY_PREFIX + jti), null);
+        String result = revoked == null ? "unavailable" : revoked ? "revoked" : "false_positive";
+        meterRegistry.counter("jwt.revocation.lookups", "result", result).increment();
+        return revoked == null || revoked;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        add(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Replaces the Bloom filter with one built from the revocations currently in Redis.
+     */
+    public void rebuild() {
+        BloomFilter next = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        rebuilding = next;
+        try {
+            Long count = guard.call(GUARD_NAME, () -> {
+                long scanned = 0;
+                ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(1000).build();
+                try (Cursor<String> keys = redisTemplate.scan(options)) {
+                    while (keys.hasNext()) {
+                        next.put(keys.next().substring(KEY_PREFIX.length()));
+                        scanned++;
+                    }
+                }
+                return scanned;
+            }, null);
+            if (count == null) {
+                // Keep the current filter; it still holds every revocation seen so far
+                return;
+            }
+            filter = next;
+            if (count > expectedInsertions) {
+                log.warn("{} revoked tokens exceed the Bloom filter size ({}); more lookups will reach Redis",
+                        count, expectedInsertions);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding the token revocation filter failed: {}", e.getMessage());
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void add(String jti) {
+        filter.put(jti);
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(jti);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        rebuilder.shutdownNow();
+    }
+}
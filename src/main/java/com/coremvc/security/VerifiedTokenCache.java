@@ -0,0 +1,125 @@
+package com.coremvc.security;
+
+import com.coremvc.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Cache of verified bearer tokens.
+ * <p>
+ * Clients reuse an access token for its whole lifetime, so the decoded
+ * {@link JwtPrincipal} is kept until the token's {@code exp} and repeated requests skip
+ * the signature check. Entries are keyed by the SHA-256 hash of the token, so raw tokens
+ * are never held in memory. Only successfully verified tokens are cached; expired and
+ * invalid tokens are verified (and rejected) on every request.
+ * </p>
+ * <p>
+ * The cache is bounded by {@code jwt.verified-cache.max-size} and reports
+ * {@code cache.gets} (hit/miss) and {@code cache.evictions} under the cache name
+ * {@value #CACHE_NAME}. Revoked tokens must be removed with {@link #evict(String)}.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    public static final String CACHE_NAME = "jwt.verified";
+
+    private final JwtUtil jwtUtil;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${jwt.verified-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long maxSize;
+
+    private Cache<String, JwtPrincipal> principals;
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        return remainingNanos(principal);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return remainingNanos(principal);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, CACHE_NAME);
+    }
+
+    /**
+     * Returns the principal of a token, verifying it only if it is not cached.
+     *
+     * @param token the JWT token
+     * @return the principal read from the verified claims
+     * @throws ExpiredJwtException if the token is expired
+     * @throws JwtException if the token is malformed or its signature is invalid
+     */
+    public JwtPrincipal verify(String token) {
+        if (!enabled) {
+            return jwtUtil.verify(token);
+        }
+        String key = hash(token);
+        JwtPrincipal principal = principals.getIfPresent(key);
+        if (principal != null) {
+            return principal;
+        }
+        principal = jwtUtil.verify(token);
+        // Tokens without an expiry are not cached
+        if (principal.expiresAt() != null) {
+            principals.put(key, principal);
+        }
+        return principal;
+    }
+
+    /**
+     * Removes a token, e.g. because it was revoked; the next request verifies it again.
+     */
+    public void evict(String token) {
+        principals.invalidate(hash(token));
+    }
+
+    private static long remainingNanos(JwtPrincipal principal) {
+        return Math.max(0, Duration.between(Instant.now(), principal.expiresAt()).toNanos());
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.coremvc.dto.LoginRequest;
 import com.coremvc.dto.AuthResponse;
 import com.coremvc.dto.UserDto;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service interface for authentication operations.
  * <p>
@@ -19,21 +21,35 @@ import com.coremvc.dto.UserDto;
 public interface AuthService {
     /**
      * Registers a new user account.
+     * <p>
+     * The password is hashed on the password work pool; the returned future
+     * completes when the account has been created.
+     * </p>
      *
      * @param request registration request with user details
+     * @param clientId the calling client (e.g. its IP address), for concurrency limits
      * @return authentication response with tokens
      * @throws com.coremvc.exception.BadRequestException if email already exists
+     * @throws com.coremvc.exception.TooManyRequestsException if the client has too many requests in progress
+     * @throws com.coremvc.exception.ServiceUnavailableException if the password work pool is saturated
      */
-    AuthResponse register(RegisterRequest request);
+    CompletableFuture<AuthResponse> register(RegisterRequest request, String clientId);
     
     /**
      * Authenticates a user and provides tokens.
+     * <p>
+     * The password is verified on the password work pool; the returned future
+     * completes with the tokens, or with UnauthorizedException.
+     * </p>
      *
      * @param request login request with credentials
+     * @param clientId the calling client (e.g. its IP address), for concurrency limits
      * @return authentication response with tokens
      * @throws com.coremvc.exception.UnauthorizedException if credentials are invalid
+     * @throws com.coremvc.exception.TooManyRequestsException if the client has too many requests in progress
+     * @throws com.coremvc.exception.ServiceUnavailableException if the password work pool is saturated
      */
-    AuthResponse login(LoginRequest request);
+    CompletableFuture<AuthResponse> login(LoginRequest request, String clientId);
     
     /**
      * Retrieves user profile information.
@@ -51,4 +67,12 @@ public interface AuthService {
      * @throws com.coremvc.exception.UnauthorizedException if refresh token is invalid
      */
     AuthResponse refreshToken(String refreshToken);
-}
\ No newline at end of file
+    
+    /**
+     * Revokes the caller's tokens.
+     *
+     * @param accessToken  the access token of the current request
+     * @param refreshToken the refresh token to revoke as well, may be {@code null}
+     */
+    void logout(String accessToken, String refreshToken);
+}
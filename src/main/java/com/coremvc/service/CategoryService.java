@@ -1,6 +1,8 @@
 package com.coremvc.service;
 
 import com.coremvc.dto.CategoryDto;
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -9,7 +11,7 @@ import java.util.List;
 public interface CategoryService {
     List<CategoryDto> getAllCategorys();
     
-    Page<CategoryDto> getAllCategorys(Pageable pageable);
+    Page<CategoryDto> getAllCategorys(Pageable pageable, PageCountMode countMode);
     
     CategoryDto getCategoryById(Long id);
     
@@ -20,4 +22,6 @@ public interface CategoryService {
     void deleteCategory(Long id);
     
     Page<CategoryDto> searchCategorysByName(String name, Pageable pageable);
+
+    CursorPage<CategoryDto> getCategorysByCursor(String after, String before, int size);
 }
@@ -0,0 +1,36 @@
+package com.coremvc.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Service interface for cheap, approximate row counts.
+ * <p>
+ * Used by paged endpoints in {@code estimated} count mode so that listing
+ * does not pay for a {@code SELECT count(*)} on every request.
+ * </p>
+ */
+public interface CountEstimationService {
+
+    /**
+     * Estimates the number of rows in a whole table.
+     * <p>
+     * On PostgreSQL this reads the planner statistic {@code pg_class.reltuples}.
+     * Elsewhere, or when the table has never been analyzed, it falls back to
+     * {@link #estimateFilteredCount(String, LongSupplier)} keyed by the table name.
+     * </p>
+     *
+     * @param tableName  the physical table name
+     * @param exactCount computes the exact count when no estimate is available
+     * @return the estimated row count
+     */
+    long estimateTableCount(String tableName, LongSupplier exactCount);
+
+    /**
+     * Returns an exact count computed at most once per refresh interval for the given filter.
+     *
+     * @param filterKey  identifies the table and filter, e.g. {@code products:category:3}
+     * @param exactCount computes the exact count on a cache miss
+     * @return the cached row count
+     */
+    long estimateFilteredCount(String filterKey, LongSupplier exactCount);
+}
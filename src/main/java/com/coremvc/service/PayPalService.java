@@ -1,5 +1,7 @@
 package com.coremvc.service;
 
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.paypal.CreateOrderRequest;
 import com.coremvc.dto.paypal.PayPalOrderResponse;
 import com.coremvc.dto.paypal.PaymentDto;
@@ -16,9 +18,13 @@ public interface PayPalService {
 
     PaymentDto getPaymentById(Long id);
 
-    Page<PaymentDto> getPaymentsByUserId(Long userId, Pageable pageable);
+    Page<PaymentDto> getPaymentsByUserId(Long userId, Pageable pageable, PageCountMode countMode);
 
-    Page<PaymentDto> getAllPayments(Pageable pageable);
+    Page<PaymentDto> getAllPayments(Pageable pageable, PageCountMode countMode);
+
+    CursorPage<PaymentDto> getPaymentsByCursor(String after, String before, int size);
+
+    CursorPage<PaymentDto> getPaymentsByUserIdAndCursor(Long userId, String after, String before, int size);
 
     PayPalOrderResponse cancelOrder(String paypalOrderId);
 }
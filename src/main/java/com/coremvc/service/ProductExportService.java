@@ -0,0 +1,26 @@
+package com.coremvc.service;
+
+import com.coremvc.dto.ProductFileFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for streaming the product catalog out in bulk.
+ */
+public interface ProductExportService {
+
+    /**
+     * Writes every product, ordered by id, to the given stream.
+     * <p>
+     * Rows are read through a server-side cursor and written as they arrive, so memory
+     * use does not grow with the size of the catalog. The stream is flushed but not closed.
+     * </p>
+     *
+     * @param format the output format
+     * @param out    the destination, typically the HTTP response body
+     * @return the number of products written
+     * @throws IOException if writing to the stream fails, e.g. the client disconnected
+     */
+    long exportProducts(ProductFileFormat format, OutputStream out) throws IOException;
+}
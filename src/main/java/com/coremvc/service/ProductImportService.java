@@ -0,0 +1,28 @@
+package com.coremvc.service;
+
+import com.coremvc.dto.ImportResultDto;
+import com.coremvc.dto.ProductFileFormat;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for loading products in bulk.
+ */
+public interface ProductImportService {
+
+    /**
+     * Reads, validates and inserts products from an NDJSON or CSV stream.
+     * <p>
+     * Rows are validated as they are read and written in JDBC batches, each in its own
+     * transaction: invalid rows are skipped and a failing batch is reported without
+     * aborting the rest of the import. Product caches are cleared once at the end.
+     * </p>
+     *
+     * @param format the input format
+     * @param in     the uploaded data; it is read to the end but not closed
+     * @return counts and per-row / per-batch errors
+     * @throws com.coremvc.exception.BadRequestException if the input cannot be read
+     *         (e.g. a CSV without a {@code name} or {@code price} column)
+     */
+    ImportResultDto importProducts(ProductFileFormat format, InputStream in);
+}
@@ -1,11 +1,14 @@
 package com.coremvc.service;
 
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.ProductDto;
+import com.coremvc.dto.SearchIndexStatsDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface ProductService  {
-    Page<ProductDto> getAllProducts(Pageable pageable);
+    Page<ProductDto> getAllProducts(Pageable pageable, PageCountMode countMode);
 
     ProductDto getProductById(Long id);
 
@@ -15,7 +18,15 @@ public interface ProductService  {
 
     void deleteProduct(Long id);
 
-    Page<ProductDto> getProductsByCategoryId(Long categoryId, Pageable pageable);
+    Page<ProductDto> getProductsByCategoryId(Long categoryId, Pageable pageable, PageCountMode countMode);
 
-    Page<ProductDto> searchProductsByName(String name, Pageable pageable);
+    Page<ProductDto> searchProductsByName(String name, Pageable pageable, PageCountMode countMode);
+
+    CursorPage<ProductDto> getProductsByCursor(String after, String before, int size);
+
+    CursorPage<ProductDto> getProductsByCategoryIdAndCursor(Long categoryId, String after, String before, int size);
+
+    SearchIndexStatsDto getSearchIndexStats();
+
+    SearchIndexStatsDto rebuildSearchIndex();
 }
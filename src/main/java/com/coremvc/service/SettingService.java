@@ -1,5 +1,7 @@
 package com.coremvc.service;
 
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.SettingDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -9,7 +11,7 @@ import java.util.List;
 public interface SettingService {
     List<SettingDto> getAllSettings();
     
-    Page<SettingDto> getAllSettings(Pageable pageable);
+    Page<SettingDto> getAllSettings(Pageable pageable, PageCountMode countMode);
     
     SettingDto getSettingById(Long id);
     
@@ -22,4 +24,6 @@ public interface SettingService {
     void deleteSetting(Long id);
     
     Page<SettingDto> searchSettingsByName(String name, Pageable pageable);
+
+    CursorPage<SettingDto> getSettingsByCursor(String after, String before, int size);
 }
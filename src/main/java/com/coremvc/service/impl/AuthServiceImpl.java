@@ -1,5 +1,6 @@
 package com.coremvc.service.impl;
 
+import com.coremvc.cache.CacheGenerations;
 import com.coremvc.dto.AuthResponse;
 import com.coremvc.dto.LoginRequest;
 import com.coremvc.dto.RegisterRequest;
@@ -10,21 +11,29 @@ import com.coremvc.mapper.UserMapper;
 import com.coremvc.model.Role;
 import com.coremvc.model.User;
 import com.coremvc.repository.UserRepository;
+import com.coremvc.security.JwtPrincipal;
+import com.coremvc.security.PasswordWorkPool;
+import com.coremvc.security.TokenRevocationList;
 import com.coremvc.service.AuthService;
 import com.coremvc.util.JwtUtil;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Implementation of AuthService interface.
  * <p>
  * Handles authentication operations including user registration,
  * login (both user and admin), profile retrieval, and token refresh.
- * Uses JWT for token generation and BCrypt for password hashing.
+ * Uses JWT for token generation and a delegating password encoder (BCrypt by
+ * default) for password hashing; hashing runs
+ * on the {@link PasswordWorkPool}, off the request threads.
  * </p>
  *
  * @author MVC Core Team
@@ -39,8 +48,10 @@ public class AuthServiceImpl implements AuthService {
     
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordWorkPool passwordWorkPool;
     private final UserMapper userMapper;
+    private final CacheGenerations cacheGenerations;
+    private final TokenRevocationList tokenRevocationList;
     
     @Value("${admin.username}")
     private String adminUsername;
@@ -52,39 +63,49 @@ public class AuthServiceImpl implements AuthService {
      * {@inheritDoc}
      * <p>
      * Validates that the email is not already in use, creates a new user
-     * with hashed password, and generates JWT tokens.
+     * with hashed password, and generates JWT tokens. The user is saved on the
+     * hashing thread, so a registration of the same email that completes in the
+     * meantime is caught by the unique constraint and reported the same way.
      * </p>
      */
     @Override
-    public AuthResponse register(RegisterRequest request) {
+    public CompletableFuture<AuthResponse> register(RegisterRequest request, String clientId) {
         
         if (userRepository.existsByEmail(request.getEmail())) {
             log.warn("Registration failed: email already exists - {}", request.getEmail());
             throw new BadRequestException("Email already exists");
         }
         
-        User user = User.builder()
-                .email(request.getEmail())
-                .fullName(request.getFullName())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .phoneNumber(request.getPhoneNumber())
-                .role(Role.USER)
-                .isActive(true)
-                .build();
-        
-        userRepository.save(user);
-        String token = jwtUtil.generateToken(user.getUuid(), user.getEmail(), user.getRole().name());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getUuid());
-        
-        log.info("User registered successfully: {}", user.getEmail());
-        
-        return AuthResponse.builder()
-                .token(token)
-                .refreshToken(refreshToken)
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .message("Register successfully")
-                .build();
+        return passwordWorkPool.encode(request.getPassword(), clientId).thenApply(encodedPassword -> {
+            User user = User.builder()
+                    .email(request.getEmail())
+                    .fullName(request.getFullName())
+                    .password(encodedPassword)
+                    .phoneNumber(request.getPhoneNumber())
+                    .role(Role.USER)
+                    .isActive(true)
+                    .build();
+            
+            try {
+                userRepository.saveAndFlush(user);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Registration failed: email already exists - {}", request.getEmail());
+                throw new BadRequestException("Email already exists");
+            }
+            cacheGenerations.advance("user::list");
+            String token = jwtUtil.generateToken(user.getUuid(), user.getEmail(), user.getRole().name());
+            String refreshToken = jwtUtil.generateRefreshToken(user.getUuid());
+            
+            log.info("User registered successfully: {}", user.getEmail());
+            
+            return AuthResponse.builder()
+                    .token(token)
+                    .refreshToken(refreshToken)
+                    .email(user.getEmail())
+                    .fullName(user.getFullName())
+                    .message("Register successfully")
+                    .build();
+        });
     }
     
     /**
@@ -96,10 +117,11 @@ public class AuthServiceImpl implements AuthService {
      *   <li>User login: validates email and password against database</li>
      * </ul>
      * Generates JWT access and refresh tokens on successful authentication.
+     * A stored hash made with an outdated algorithm or cost is replaced in the background.
      * </p>
      */
     @Override
-    public AuthResponse login(LoginRequest request) {
+    public CompletableFuture<AuthResponse> login(LoginRequest request, String clientId) {
         // Check if it's admin login
         if (request.getUsername() != null && !request.getUsername().isEmpty()) {
             if (adminUsername.equals(request.getUsername()) && adminPassword.equals(request.getPassword())) {
@@ -107,13 +129,13 @@ public class AuthServiceImpl implements AuthService {
                 String refreshToken = jwtUtil.generateRefreshToken("admin-uuid");
                 log.info("Admin logged in successfully");
                 
-                return AuthResponse.builder()
+                return CompletableFuture.completedFuture(AuthResponse.builder()
                         .token(token)
                         .refreshToken(refreshToken)
                         .email("admin@system.local")
                         .fullName("Admin")
                         .message("Login successfully")
-                        .build();
+                        .build());
             } else {
                 log.warn("Admin login failed: invalid credentials");
                 throw new UnauthorizedException("Invalid credentials");
@@ -128,22 +150,57 @@ public class AuthServiceImpl implements AuthService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElse(null);
         
-        if (user == null || !passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (user == null) {
             log.warn("Login failed: invalid email or password - {}", request.getEmail());
             throw new UnauthorizedException("Invalid email or password");
         }
         
-        String token = jwtUtil.generateToken(user.getUuid(), user.getEmail(), user.getRole().name());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getUuid());
-        log.info("User logged in successfully: {}", user.getEmail());
-        
-        return AuthResponse.builder()
-                .token(token)
-                .refreshToken(refreshToken)
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .message("Login successfully")
-                .build();
+        return passwordWorkPool.matches(request.getPassword(), user.getPassword(), clientId).thenApply(matches -> {
+            if (!matches) {
+                log.warn("Login failed: invalid email or password - {}", request.getEmail());
+                throw new UnauthorizedException("Invalid email or password");
+            }
+            
+            upgradePasswordHash(user, request.getPassword(), clientId);
+            
+            String token = jwtUtil.generateToken(user.getUuid(), user.getEmail(), user.getRole().name());
+            String refreshToken = jwtUtil.generateRefreshToken(user.getUuid());
+            log.info("User logged in successfully: {}", user.getEmail());
+            
+            return AuthResponse.builder()
+                    .token(token)
+                    .refreshToken(refreshToken)
+                    .email(user.getEmail())
+                    .fullName(user.getFullName())
+                    .message("Login successfully")
+                    .build();
+        });
+    }
+    
+    /**
+     * Re-hashes a verified password with the current algorithm and cost if the stored hash is
+     * outdated. Runs in the background on the password pool; the login does not wait for it,
+     * and if the pool is busy the upgrade happens on a later login.
+     */
+    private void upgradePasswordHash(User user, String rawPassword, String clientId) {
+        String storedHash = user.getPassword();
+        if (!passwordWorkPool.needsUpgrade(storedHash)) {
+            return;
+        }
+        try {
+            passwordWorkPool.encode(rawPassword, clientId)
+                    .thenAccept(newHash -> {
+                        if (userRepository.replacePasswordHash(user.getId(), storedHash, newHash) == 1) {
+                            log.info("Upgraded password hash for user: {}", user.getEmail());
+                        }
+                    })
+                    .exceptionally(e -> {
+                        log.warn("Password hash upgrade failed for user {}: {}", user.getEmail(), e.getMessage());
+                        return null;
+                    });
+        } catch (RuntimeException e) {
+            log.debug("Password hash upgrade deferred for user {}: {}", user.getEmail(), e.getMessage());
+        }
     }
     
     /**
@@ -184,17 +241,33 @@ public class AuthServiceImpl implements AuthService {
      * <p>
      * Validates the refresh token, extracts user information,
      * and generates new access and refresh tokens. Handles both
-     * admin and regular user token refresh.
+     * admin and regular user token refresh. The refresh token is
+     * revoked on use (rotation), so it cannot be exchanged twice.
      * </p>
      */
     @Override
     public AuthResponse refreshToken(String refreshToken) {
-        if (!jwtUtil.validateToken(refreshToken)) {
-            log.warn("Refresh token validation failed");
+        JwtPrincipal principal;
+        try {
+            principal = jwtUtil.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            log.warn("Refresh token validation failed: {}", e.getMessage());
+            throw new UnauthorizedException("Invalid or expired refresh token");
+        }
+        
+        if (!principal.isRefreshToken()) {
+            log.warn("Refresh attempted with a non-refresh token");
             throw new UnauthorizedException("Invalid or expired refresh token");
         }
         
-        String uuid = jwtUtil.extractUuid(refreshToken);
+        // Rotation: each refresh token is usable once; a second use means it was replayed
+        if (tokenRevocationList.isRevoked(principal.jti())
+                || !tokenRevocationList.revoke(refreshToken, principal)) {
+            log.warn("Revoked refresh token used for user: {}", principal.uuid());
+            throw new UnauthorizedException("Refresh token has been revoked");
+        }
+        
+        String uuid = principal.uuid();
         
         // Check if it's an admin token
         if ("admin-uuid".equals(uuid)) {
@@ -231,5 +304,31 @@ public class AuthServiceImpl implements AuthService {
                 .message("Token refreshed successfully")
                 .build();
     }
+    
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Revokes the access token and, if given and valid, the refresh token
+     * until they expire.
+     * </p>
+     */
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        JwtPrincipal access = jwtUtil.verify(accessToken);
+        tokenRevocationList.revoke(accessToken, access);
+        
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            try {
+                JwtPrincipal refresh = jwtUtil.verify(refreshToken);
+                if (refresh.isRefreshToken() && access.uuid().equals(refresh.uuid())) {
+                    tokenRevocationList.revoke(refreshToken, refresh);
+                }
+            } catch (JwtException | IllegalArgumentException e) {
+                // Expired or invalid refresh tokens are unusable anyway
+                log.debug("Ignoring invalid refresh token on logout: {}", e.getMessage());
+            }
+        }
+        
+        log.info("User logged out: {}", access.uuid());
+    }
 }
-
@@ -1,18 +1,25 @@
 package com.coremvc.service.impl;
 
+import com.coremvc.cache.CacheGenerations;
 import com.coremvc.dto.CategoryDto;
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.RestPage;
 import com.coremvc.exception.ResourceNotFoundException;
 import com.coremvc.mapper.CategoryMapper;
 import com.coremvc.model.Category;
 import com.coremvc.repository.CategoryRepository;
+import com.coremvc.service.CountEstimationService;
 import com.coremvc.service.CategoryService;
+import com.coremvc.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,11 +29,16 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
+    private static final Sort ID_ASC = Sort.by(Sort.Direction.ASC, "id");
+    private static final Sort ID_DESC = Sort.by(Sort.Direction.DESC, "id");
+
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CountEstimationService countEstimationService;
+    private final CacheGenerations cacheGenerations;
 
     @Override
-    @Cacheable(value = "category::list", key = "'all'")
+    @Cacheable(value = "category::list", key = "@cacheGenerations.current('category::list') + '-all'")
     public List<CategoryDto> getAllCategorys() {
         return categoryRepository.findAll().stream()
                 .map(categoryMapper::toDto)
@@ -35,8 +47,13 @@ public class CategoryServiceImpl implements CategoryService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "category::list", key = "#pageable.pageNumber + '-' + #pageable.pageSize")
-    public Page<CategoryDto> getAllCategorys(Pageable pageable) {
+    @Cacheable(value = "category::list", key = "@cacheGenerations.current('category::list') + '-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #countMode")
+    public Page<CategoryDto> getAllCategorys(Pageable pageable, PageCountMode countMode) {
+        if (countMode != PageCountMode.EXACT) {
+            return RestPage.fromSlice(categoryRepository.findSliceBy(pageable).map(categoryMapper::toDto),
+                    countMode, () -> countEstimationService.estimateTableCount("categorys", categoryRepository::count));
+        }
+
         Page<CategoryDto> page = categoryRepository.findAll(pageable)
                 .map(categoryMapper::toDto);
         return new RestPage<>(page.getContent(), pageable, page.getTotalElements());
@@ -53,16 +70,15 @@ public class CategoryServiceImpl implements CategoryService {
     }
 
     @Override
-    @CacheEvict(value = {"categories", "category::list"}, allEntries = true)
     public CategoryDto createCategory(CategoryDto categoryDto) {
         Category category = categoryMapper.toEntity(categoryDto);
         Category savedCategory = categoryRepository.save(category);
+        cacheGenerations.advance("category::list");
         return categoryMapper.toDto(savedCategory);
     }
 
     @Override
     @CachePut(value = "categories", key = "#id")
-    @CacheEvict(value = "category::list", allEntries = true)
     public CategoryDto updateCategory(Long id, CategoryDto categoryDto) {
         Category existingCategory = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -75,22 +91,35 @@ public class CategoryServiceImpl implements CategoryService {
         }
 
         Category updatedCategory = categoryRepository.save(existingCategory);
+        cacheGenerations.advance("category::list");
         return categoryMapper.toDto(updatedCategory);
     }
 
     @Override
-    @CacheEvict(value = {"categories", "category::list"}, allEntries = true)
+    @CacheEvict(value = "categories", key = "#id")
     public void deleteCategory(Long id) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         categoryRepository.delete(category);
+        cacheGenerations.advance("category::list");
     }
 
     @Override
-    @Cacheable(value = "category::list", key = "'search:' + #name + ':' + #pageable.pageNumber")
+    @Cacheable(value = "category::list", key = "@cacheGenerations.current('category::list') + '-search:' + #name + ':' + #pageable.pageNumber")
     public Page<CategoryDto> searchCategorysByName(String name, Pageable pageable) {
         Page<CategoryDto> page = categoryRepository.findByNameContainingIgnoreCase(name, pageable)
                 .map(categoryMapper::toDto);
         return new RestPage<>(page.getContent(), pageable, page.getTotalElements());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CategoryDto> getCategorysByCursor(String after, String before, int size) {
+        return CursorUtil.fetch(after, before, size,
+                limit -> categoryRepository.findAllBy(PageRequest.of(0, limit, ID_ASC)),
+                (cursor, limit) -> categoryRepository.findByIdGreaterThan(cursor.id(), PageRequest.of(0, limit, ID_ASC)),
+                (cursor, limit) -> categoryRepository.findByIdLessThan(cursor.id(), PageRequest.of(0, limit, ID_DESC)),
+                category -> new CursorUtil.Cursor(null, category.getId()),
+                categoryMapper::toDto);
+    }
 }
@@ -0,0 +1,84 @@
+package com.coremvc.service.impl;
+
+import com.coremvc.service.CountEstimationService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Implementation of CountEstimationService.
+ * <p>
+ * Whole-table estimates come from PostgreSQL statistics, which are free to read and
+ * kept current by autovacuum. Filtered counts are computed exactly but cached per
+ * filter key for a short interval, so a burst of scrolling pays for one count.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CountEstimationServiceImpl implements CountEstimationService {
+
+    private static final String RELTUPLES_SQL =
+            "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${pagination.count-cache.ttl:60s}")
+    private Duration countCacheTtl;
+
+    @Value("${pagination.count-cache.max-size:10000}")
+    private long countCacheMaxSize;
+
+    private Cache<String, Long> countCache;
+
+    private volatile Boolean postgres;
+
+    @PostConstruct
+    void init() {
+        countCache = Caffeine.newBuilder()
+                .maximumSize(countCacheMaxSize)
+                .expireAfterWrite(countCacheTtl)
+                .build();
+    }
+
+    @Override
+    public long estimateTableCount(String tableName, LongSupplier exactCount) {
+        if (isPostgres()) {
+            try {
+                Long reltuples = jdbcTemplate.queryForObject(RELTUPLES_SQL, Long.class, tableName);
+                // -1 (PostgreSQL 14+) or 0 means the table has not been analyzed yet
+                if (reltuples != null && reltuples > 0) {
+                    return reltuples;
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not read planner statistics for table {}: {}", tableName, e.getMessage());
+            }
+        }
+        return estimateFilteredCount(tableName, exactCount);
+    }
+
+    @Override
+    public long estimateFilteredCount(String filterKey, LongSupplier exactCount) {
+        return countCache.get(filterKey, key -> exactCount.getAsLong());
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())));
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -1,5 +1,7 @@
 package com.coremvc.service.impl;
 
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.RestPage;
 import com.coremvc.dto.paypal.CreateOrderRequest;
 import com.coremvc.dto.paypal.PayPalOrderResponse;
@@ -8,14 +10,18 @@ import com.coremvc.exception.BadRequestException;
 import com.coremvc.exception.ResourceNotFoundException;
 import com.coremvc.model.Payment;
 import com.coremvc.repository.PaymentRepository;
+import com.coremvc.service.CountEstimationService;
 import com.coremvc.service.PayPalService;
+import com.coremvc.util.CursorUtil;
 import com.paypal.core.PayPalHttpClient;
 import com.paypal.http.HttpResponse;
 import com.paypal.orders.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,8 +36,12 @@ import java.util.stream.Collectors;
 @Transactional
 public class PayPalServiceImpl implements PayPalService {
 
+    private static final Sort ID_ASC = Sort.by(Sort.Direction.ASC, "id");
+    private static final Sort ID_DESC = Sort.by(Sort.Direction.DESC, "id");
+
     private final PayPalHttpClient payPalHttpClient;
     private final PaymentRepository paymentRepository;
+    private final CountEstimationService countEstimationService;
 
     @Override
     public PayPalOrderResponse createOrder(CreateOrderRequest request, Long userId) {
@@ -165,7 +175,13 @@ public class PayPalServiceImpl implements PayPalService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<PaymentDto> getPaymentsByUserId(Long userId, Pageable pageable) {
+    public Page<PaymentDto> getPaymentsByUserId(Long userId, Pageable pageable, PageCountMode countMode) {
+        if (countMode != PageCountMode.EXACT) {
+            return RestPage.fromSlice(paymentRepository.findSliceByUserId(userId, pageable).map(this::toPaymentDto),
+                    countMode, () -> countEstimationService.estimateFilteredCount(
+                            "payments:user:" + userId, () -> paymentRepository.countByUserId(userId)));
+        }
+
         Page<PaymentDto> page = paymentRepository.findByUserId(userId, pageable)
                 .map(this::toPaymentDto);
         return new RestPage<>(page.getContent(), pageable, page.getTotalElements());
@@ -173,12 +189,42 @@ public class PayPalServiceImpl implements PayPalService {
 
     @Override
     @Transactional(readOnly = true)
-    public Page<PaymentDto> getAllPayments(Pageable pageable) {
+    public Page<PaymentDto> getAllPayments(Pageable pageable, PageCountMode countMode) {
+        if (countMode != PageCountMode.EXACT) {
+            return RestPage.fromSlice(paymentRepository.findSliceBy(pageable).map(this::toPaymentDto),
+                    countMode, () -> countEstimationService.estimateTableCount("payments", paymentRepository::count));
+        }
+
         Page<PaymentDto> page = paymentRepository.findAll(pageable)
                 .map(this::toPaymentDto);
         return new RestPage<>(page.getContent(), pageable, page.getTotalElements());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentDto> getPaymentsByCursor(String after, String before, int size) {
+        // Newest first, matching the default ordering of the paged payment endpoints
+        return CursorUtil.fetch(after, before, size,
+                limit -> paymentRepository.findAllBy(PageRequest.of(0, limit, ID_DESC)),
+                (cursor, limit) -> paymentRepository.findByIdLessThan(cursor.id(), PageRequest.of(0, limit, ID_DESC)),
+                (cursor, limit) -> paymentRepository.findByIdGreaterThan(cursor.id(), PageRequest.of(0, limit, ID_ASC)),
+                payment -> new CursorUtil.Cursor(null, payment.getId()),
+                this::toPaymentDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentDto> getPaymentsByUserIdAndCursor(Long userId, String after, String before, int size) {
+        return CursorUtil.fetch(after, before, size,
+                limit -> paymentRepository.findAllByUserId(userId, PageRequest.of(0, limit, ID_DESC)),
+                (cursor, limit) -> paymentRepository.findByUserIdAndIdLessThan(
+                        userId, cursor.id(), PageRequest.of(0, limit, ID_DESC)),
+                (cursor, limit) -> paymentRepository.findByUserIdAndIdGreaterThan(
+                        userId, cursor.id(), PageRequest.of(0, limit, ID_ASC)),
+                payment -> new CursorUtil.Cursor(null, payment.getId()),
+                this::toPaymentDto);
+    }
+
     @Override
     public PayPalOrderResponse cancelOrder(String paypalOrderId) {
         log.info("Cancelling PayPal order: {}", paypalOrderId);
@@ -0,0 +1,142 @@
+package com.coremvc.service.impl;
+
+import com.coremvc.dto.ProductDto;
+import com.coremvc.dto.ProductFileFormat;
+import com.coremvc.mapper.ProductMapper;
+import com.coremvc.model.Product;
+import com.coremvc.repository.ProductRepository;
+import com.coremvc.service.ProductExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of ProductExportService.
+ * <p>
+ * The export runs in a read-only transaction so the JDBC driver honours the fetch size
+ * and streams rows instead of buffering the whole result. Each entity is detached once
+ * written, so the persistence context never holds more than one row.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductExportServiceImpl implements ProductExportService {
+
+    static final String[] CSV_COLUMNS = {
+            "id", "name", "description", "price", "categoryId", "thumbnailUrl", "isActive", "createdAt", "updatedAt"
+    };
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.export.flush-every:1000}")
+    private int flushEvery;
+
+    @Override
+    public long exportProducts(ProductFileFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        RowWriter rowWriter = format == ProductFileFormat.CSV ? csvRowWriter(writer) : ndjsonRowWriter(writer);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        Long written;
+        try {
+            written = transactionTemplate.execute(status -> {
+                long count = 0;
+                try (Stream<Product> products = productRepository.streamAllBy()) {
+                    Iterator<Product> iterator = products.iterator();
+                    while (iterator.hasNext()) {
+                        Product product = iterator.next();
+                        rowWriter.write(productMapper.toDto(product));
+                        entityManager.detach(product);
+                        if (++count % flushEvery == 0) {
+                            writer.flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return count;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        long total = written != null ? written : 0;
+        log.info("Exported {} products as {} in {} ms", total, format, System.currentTimeMillis() - start);
+        return total;
+    }
+
+    private RowWriter ndjsonRowWriter(Writer writer) {
+        ObjectWriter jsonWriter = objectMapper.writerFor(ProductDto.class);
+        return product -> {
+            writer.write(jsonWriter.writeValueAsString(product));
+            writer.write('\n');
+        };
+    }
+
+    private RowWriter csvRowWriter(Writer writer) throws IOException {
+        writer.write(String.join(",", CSV_COLUMNS));
+        writer.write("\r\n");
+        return product -> {
+            writer.write(csv(product.getId()));
+            writer.write(',');
+            writer.write(csv(product.getName()));
+            writer.write(',');
+            writer.write(csv(product.getDescription()));
+            writer.write(',');
+            writer.write(csv(product.getPrice() != null ? product.getPrice().toPlainString() : null));
+            writer.write(',');
+            writer.write(csv(product.getCategoryId()));
+            writer.write(',');
+            writer.write(csv(product.getThumbnailUrl()));
+            writer.write(',');
+            writer.write(csv(product.getIsActive()));
+            writer.write(',');
+            writer.write(csv(product.getCreatedAt()));
+            writer.write(',');
+            writer.write(csv(product.getUpdatedAt()));
+            writer.write("\r\n");
+        };
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break, doubling embedded quotes
+    private static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(ProductDto product) throws IOException;
+    }
+}
@@ -0,0 +1,303 @@
+package com.coremvc.service.impl;
+
+import com.coremvc.cache.CacheGenerations;
+import com.coremvc.dto.ImportErrorDto;
+import com.coremvc.dto.ImportResultDto;
+import com.coremvc.dto.ProductDto;
+import com.coremvc.dto.ProductFileFormat;
+import com.coremvc.exception.BadRequestException;
+import com.coremvc.model.Product;
+import com.coremvc.repository.ProductJdbcRepository;
+import com.coremvc.search.ProductSearchEngine;
+import com.coremvc.service.ProductImportService;
+import com.coremvc.util.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of ProductImportService.
+ * <p>
+ * Input is parsed one row at a time and only the current batch is held in memory.
+ * Batches go through {@link ProductJdbcRepository}, bypassing JPA. When anything was
+ * imported, the product caches are cleared and the search index is rebuilt once,
+ * rather than once per row as {@code createProduct} would.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_URL_LENGTH = 255;
+    private static final int PRICE_SCALE = 2;
+    private static final int PRICE_INTEGER_DIGITS = 8;
+
+    private final ProductJdbcRepository productJdbcRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final CacheManager cacheManager;
+    private final CacheGenerations cacheGenerations;
+    private final ProductSearchEngine productSearchEngine;
+    private final ObjectMapper objectMapper;
+
+    @Value("${product.import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${product.import.max-errors:1000}")
+    private int maxErrors;
+
+    @Override
+    public ImportResultDto importProducts(ProductFileFormat format, InputStream in) {
+        long start = System.currentTimeMillis();
+        ImportRun run = new ImportRun();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+
+        try {
+            if (format == ProductFileFormat.CSV) {
+                readCsv(reader, run);
+            } else {
+                readNdjson(reader, run);
+            }
+        } catch (IOException e) {
+            // Earlier batches are already committed; report where reading stopped
+            run.error(ImportErrorDto.builder().message("Input could not be read: " + e.getMessage()).build());
+        }
+        run.flush();
+
+        if (run.imported > 0) {
+            Optional.ofNullable(cacheManager.getCache("products")).ifPresent(Cache::clear);
+            cacheGenerations.advance("product::page");
+            productSearchEngine.rebuild();
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Imported {} of {} products ({} rejected, {} failed batches) as {} in {} ms",
+                run.imported, run.received, run.rejected, run.failedBatches, format, duration);
+
+        return ImportResultDto.builder()
+                .received(run.received)
+                .imported(run.imported)
+                .rejected(run.rejected)
+                .batches(run.batchNumber)
+                .failedBatches(run.failedBatches)
+                .durationMillis(duration)
+                .errors(run.errors)
+                .errorsTruncated(run.errorsTruncated)
+                .build();
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        ObjectReader jsonReader = objectMapper.readerFor(ProductDto.class);
+        long line = 0;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            line++;
+            if (text.isBlank()) {
+                continue;
+            }
+            run.received++;
+            try {
+                ProductDto dto = jsonReader.readValue(text);
+                run.accept(line, dto.getName(), dto.getDescription(), dto.getPrice(), dto.getCategoryId(),
+                        dto.getThumbnailUrl(), dto.getIsActive());
+            } catch (JsonProcessingException e) {
+                run.reject(line, "Invalid JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Accept both the export's camelCase names and snake_case column names
+            columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new BadRequestException("CSV header must contain 'name' and 'price' columns");
+        }
+
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            long line = csv.getRecordLine();
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            run.received++;
+            try {
+                String price = field(record, columns, "price");
+                String categoryId = field(record, columns, "categoryid");
+                String isActive = field(record, columns, "isactive");
+                run.accept(line,
+                        field(record, columns, "name"),
+                        field(record, columns, "description"),
+                        price != null ? new BigDecimal(price) : null,
+                        categoryId != null ? Long.valueOf(categoryId) : null,
+                        field(record, columns, "thumbnailurl"),
+                        isActive != null ? parseBoolean(isActive) : null);
+            } catch (NumberFormatException e) {
+                run.reject(line, "Invalid number: " + e.getMessage());
+            } catch (IllegalArgumentException e) {
+                run.reject(line, e.getMessage());
+            }
+        }
+    }
+
+    // Empty CSV cells are treated as absent
+    private static String field(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value) || "1".equals(value)) {
+            return true;
+        }
+        if ("false".equalsIgnoreCase(value) || "0".equals(value)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid isActive: " + value);
+    }
+
+    private static String validate(String name, BigDecimal price, String thumbnailUrl) {
+        if (name == null || name.isBlank()) {
+            return "name is required";
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return "name must be at most " + MAX_NAME_LENGTH + " characters";
+        }
+        if (price == null) {
+            return "price is required";
+        }
+        if (price.signum() < 0) {
+            return "price must not be negative";
+        }
+        if (price.stripTrailingZeros().scale() > PRICE_SCALE
+                || price.precision() - price.scale() > PRICE_INTEGER_DIGITS) {
+            return "price must have at most " + PRICE_INTEGER_DIGITS + " integer and " + PRICE_SCALE + " fraction digits";
+        }
+        if (thumbnailUrl != null && thumbnailUrl.length() > MAX_URL_LENGTH) {
+            return "thumbnailUrl must be at most " + MAX_URL_LENGTH + " characters";
+        }
+        return null;
+    }
+
+    /**
+     * Mutable state of one import: counters, the pending batch and collected errors.
+     */
+    private final class ImportRun {
+        private final List<Product> batch = new ArrayList<>();
+        private final List<ImportErrorDto> errors = new ArrayList<>();
+        private long batchFirstLine;
+        private long batchLastLine;
+        private long received;
+        private long imported;
+        private long rejected;
+        private int batchNumber;
+        private int failedBatches;
+        private boolean errorsTruncated;
+
+        void accept(long line, String name, String description, BigDecimal price, Long categoryId,
+                    String thumbnailUrl, Boolean isActive) {
+            String problem = validate(name, price, thumbnailUrl);
+            if (problem != null) {
+                reject(line, problem);
+                return;
+            }
+
+            Product product = Product.builder()
+                    .name(name.trim())
+                    .description(description)
+                    .price(price.setScale(PRICE_SCALE))
+                    .categoryId(categoryId)
+                    .thumbnailUrl(thumbnailUrl)
+                    .isActive(isActive != null ? isActive : Boolean.TRUE)
+                    .build();
+
+            if (batch.isEmpty()) {
+                batchFirstLine = line;
+            }
+            batchLastLine = line;
+            batch.add(product);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            error(ImportErrorDto.builder().line(line).message(message).build());
+        }
+
+        void error(ImportErrorDto error) {
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            batchNumber++;
+
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            for (Product product : batch) {
+                product.setCreatedAt(now);
+                product.setUpdatedAt(now);
+            }
+
+            try {
+                new TransactionTemplate(transactionManager)
+                        .executeWithoutResult(status -> productJdbcRepository.insertBatch(batch));
+                imported += batch.size();
+            } catch (DataAccessException e) {
+                failedBatches++;
+                log.warn("Import batch {} (lines {}-{}) failed", batchNumber, batchFirstLine, batchLastLine, e);
+                error(ImportErrorDto.builder()
+                        .batch(batchNumber)
+                        .message("Batch of lines " + batchFirstLine + "-" + batchLastLine + " failed: "
+                                + NestedExceptionUtils.getMostSpecificCause(e).getMessage())
+                        .build());
+            }
+            batch.clear();
+        }
+    }
+}
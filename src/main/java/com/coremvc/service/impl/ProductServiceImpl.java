@@ -1,12 +1,22 @@
 package com.coremvc.service.impl;
 
+import com.coremvc.cache.CacheGenerations;
+import com.coremvc.cache.QueryResultCache;
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.ProductDto;
 import com.coremvc.dto.RestPage;
+import com.coremvc.dto.SearchIndexStatsDto;
+import com.coremvc.exception.BadRequestException;
 import com.coremvc.exception.ResourceNotFoundException;
 import com.coremvc.mapper.ProductMapper;
 import com.coremvc.model.Product;
 import com.coremvc.repository.ProductRepository;
+import com.coremvc.search.ProductSearchEngine;
+import com.coremvc.service.CountEstimationService;
 import com.coremvc.service.ProductService;
+import com.coremvc.util.CacheKeyUtil;
+import com.coremvc.util.CursorUtil;
 import com.coremvc.util.SettingConstants;
 import com.coremvc.util.SettingHelper;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +25,7 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,11 +36,15 @@ import org.springframework.transaction.annotation.Transactional;
 public class ProductServiceImpl implements ProductService {
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
+    private final CountEstimationService countEstimationService;
+    private final ProductSearchEngine productSearchEngine;
+    private final CacheGenerations cacheGenerations;
+    private final QueryResultCache queryResultCache;
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "product::page", key = "#pageable.pageNumber + '-' + #pageable.pageSize + '-' + #pageable.sort.toString()")
-    public Page<ProductDto> getAllProducts(Pageable pageable) {
+    @Cacheable(value = "product::page", key = "@cacheGenerations.current('product::page') + '-' + T(com.coremvc.util.CacheKeyUtil).page(#pageable) + '-' + #countMode", sync = true)
+    public Page<ProductDto> getAllProducts(Pageable pageable, PageCountMode countMode) {
         log.info("Fetching paginated products from DATABASE (cache miss) - page: {}, size: {}", pageable.getPageNumber(), pageable.getPageSize());
 
         // get Setting key Website here
@@ -38,6 +53,11 @@ public class ProductServiceImpl implements ProductService {
         //print test
         log.info("Test: {}", test);
 
+        if (countMode != PageCountMode.EXACT) {
+            return RestPage.fromSlice(productRepository.findAllOptimizedSlice(pageable).map(productMapper::toDto),
+                    countMode, () -> countEstimationService.estimateTableCount("products", productRepository::count));
+        }
+
         Page<ProductDto> page = productRepository.findAllOptimized(pageable)
                 .map(productMapper::toDto);
         return new RestPage<>(page.getContent(), pageable, page.getTotalElements());
@@ -45,7 +65,7 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "products", key = "#id")
+    @Cacheable(value = "products", key = "#id", sync = true)
     public ProductDto getProductById(Long id) {
         log.info("Fetching product with id={} from DATABASE (cache miss)", id);
         Product product = productRepository.findById(id)
@@ -55,16 +75,16 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @CacheEvict(value = {"products", "product::page"}, allEntries = true)
     public ProductDto createProduct(ProductDto productDto) {
         Product product = productMapper.toEntity(productDto);
         Product savedProduct = productRepository.save(product);
+        productSearchEngine.onProductSaved(savedProduct);
+        cacheGenerations.advance("product::page");
         return productMapper.toDto(savedProduct);
     }
 
     @Override
     @CachePut(value = "products", key = "#id")
-    @CacheEvict(value = "product::page", allEntries = true)
     public ProductDto updateProduct(Long id, ProductDto productDto) {
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
@@ -90,24 +110,94 @@ public class ProductServiceImpl implements ProductService {
         }
 
         Product updatedProduct = productRepository.save(existingProduct);
+        productSearchEngine.onProductSaved(updatedProduct);
+        cacheGenerations.advance("product::page");
         return productMapper.toDto(updatedProduct);
     }
 
         @Override
-    @CacheEvict(value = {"products", "product::page"}, allEntries = true)
+    @CacheEvict(value = "products", key = "#id")
     public void deleteProduct(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
         productRepository.delete(product);
+        productSearchEngine.onProductDeleted(id);
+        cacheGenerations.advance("product::page");
+    }
+
+    @Override
+    public Page<ProductDto> getProductsByCategoryId(Long categoryId, Pageable pageable, PageCountMode countMode) {
+        return queryResultCache.get("product::page", "category",
+                categoryId + "-" + CacheKeyUtil.page(pageable) + "-" + countMode, pageable.getPageSize(), () -> {
+            if (countMode != PageCountMode.EXACT) {
+                return RestPage.fromSlice(productRepository.findSliceByCategoryId(categoryId, pageable).map(productMapper::toDto),
+                        countMode, () -> countEstimationService.estimateFilteredCount(
+                                "products:category:" + categoryId, () -> productRepository.countByCategoryId(categoryId)));
+            }
+            Page<ProductDto> page = productRepository.findByCategoryId(categoryId, pageable).map(productMapper::toDto);
+            return new RestPage<>(page.getContent(), pageable, page.getTotalElements());
+        });
     }
 
     @Override
-    public Page<ProductDto> getProductsByCategoryId(Long categoryId, Pageable pageable) {
-        return productRepository.findByCategoryId(categoryId, pageable).map(productMapper::toDto);
+    @Transactional(readOnly = true)
+    public Page<ProductDto> searchProductsByName(String name, Pageable pageable, PageCountMode countMode) {
+        // Search with the normalized term so equivalent queries share one cache entry
+        String term = CacheKeyUtil.normalizeTerm(name);
+        return queryResultCache.get("product::page", "search",
+                term + "-" + CacheKeyUtil.page(pageable) + "-" + countMode, pageable.getPageSize(), () -> {
+            if (countMode != PageCountMode.EXACT) {
+                return RestPage.fromSlice(productSearchEngine.searchSlice(term, pageable).map(productMapper::toDto),
+                        countMode, () -> countEstimationService.estimateFilteredCount(
+                                "products:search:" + productSearchEngine.name() + ":" + term,
+                                () -> productSearchEngine.count(term)));
+            }
+            Page<ProductDto> page = productSearchEngine.search(term, pageable).map(productMapper::toDto);
+            return new RestPage<>(page.getContent(), pageable, page.getTotalElements());
+        });
     }
 
     @Override
-    public Page<ProductDto> searchProductsByName(String name, Pageable pageable) {
-        return productRepository.findByNameContainingIgnoreCase(name, pageable).map(productMapper::toDto);
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> getProductsByCursor(String after, String before, int size) {
+        return CursorUtil.fetch(after, before, size,
+                limit -> productRepository.findLatest(PageRequest.of(0, limit)),
+                (cursor, limit) -> productRepository.findOlderThan(cursor.createdAt(), cursor.id(), PageRequest.of(0, limit)),
+                (cursor, limit) -> productRepository.findNewerThan(cursor.createdAt(), cursor.id(), PageRequest.of(0, limit)),
+                this::cursorOf,
+                productMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> getProductsByCategoryIdAndCursor(Long categoryId, String after, String before, int size) {
+        return CursorUtil.fetch(after, before, size,
+                limit -> productRepository.findLatestByCategoryId(categoryId, PageRequest.of(0, limit)),
+                (cursor, limit) -> productRepository.findOlderThanByCategoryId(
+                        categoryId, cursor.createdAt(), cursor.id(), PageRequest.of(0, limit)),
+                (cursor, limit) -> productRepository.findNewerThanByCategoryId(
+                        categoryId, cursor.createdAt(), cursor.id(), PageRequest.of(0, limit)),
+                this::cursorOf,
+                productMapper::toDto);
+    }
+
+    @Override
+    public SearchIndexStatsDto getSearchIndexStats() {
+        return productSearchEngine.indexStats()
+                .orElseThrow(() -> new BadRequestException(searchIndexDisabledMessage()));
+    }
+
+    @Override
+    public SearchIndexStatsDto rebuildSearchIndex() {
+        return productSearchEngine.rebuild()
+                .orElseThrow(() -> new BadRequestException(searchIndexDisabledMessage()));
+    }
+
+    private String searchIndexDisabledMessage() {
+        return "Search engine '" + productSearchEngine.name() + "' has no index (set product.search.engine=memory)";
+    }
+
+    private CursorUtil.Cursor cursorOf(Product product) {
+        return new CursorUtil.Cursor(product.getCreatedAt(), product.getId());
     }
 }
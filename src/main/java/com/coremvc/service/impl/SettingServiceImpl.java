@@ -1,18 +1,25 @@
 package com.coremvc.service.impl;
 
+import com.coremvc.cache.CacheGenerations;
+import com.coremvc.dto.CursorPage;
+import com.coremvc.dto.PageCountMode;
 import com.coremvc.dto.RestPage;
 import com.coremvc.dto.SettingDto;
 import com.coremvc.exception.ResourceNotFoundException;
 import com.coremvc.mapper.SettingMapper;
 import com.coremvc.model.Setting;
 import com.coremvc.repository.SettingRepository;
+import com.coremvc.service.CountEstimationService;
 import com.coremvc.service.SettingService;
+import com.coremvc.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,11 +29,16 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class SettingServiceImpl implements SettingService {
+    private static final Sort ID_ASC = Sort.by(Sort.Direction.ASC, "id");
+    private static final Sort ID_DESC = Sort.by(Sort.Direction.DESC, "id");
+
     private final SettingRepository settingRepository;
     private final SettingMapper settingMapper;
+    private final CountEstimationService countEstimationService;
+    private final CacheGenerations cacheGenerations;
 
     @Override
-    @Cacheable(value = "setting::list", key = "'all'")
+    @Cacheable(value = "setting::list", key = "@cacheGenerations.current('setting::list') + '-all'")
     public List<SettingDto> getAllSettings() {
         return settingRepository.findAll().stream()
                 .map(settingMapper::toDto)
@@ -35,8 +47,13 @@ public class SettingServiceImpl implements SettingService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "setting::list", key = "#pageable.pageNumber + '-' + #pageable.pageSize")
-    public Page<SettingDto> getAllSettings(Pageable pageable) {
+    @Cacheable(value = "setting::list", key = "@cacheGenerations.current('setting::list') + '-' + #pageable.pageNumber + '-' + #pageable.pageSize + '-' + #countMode")
+    public Page<SettingDto> getAllSettings(Pageable pageable, PageCountMode countMode) {
+        if (countMode != PageCountMode.EXACT) {
+            return RestPage.fromSlice(settingRepository.findSliceBy(pageable).map(settingMapper::toDto),
+                    countMode, () -> countEstimationService.estimateTableCount("settings", settingRepository::count));
+        }
+
         Page<SettingDto> page = settingRepository.findAll(pageable)
                 .map(settingMapper::toDto);
         return new RestPage<>(page.getContent(), pageable, page.getTotalElements());
@@ -63,16 +80,15 @@ public class SettingServiceImpl implements SettingService {
     }
 
     @Override
-    @CacheEvict(value = {"settings", "setting::list"}, allEntries = true)
     public SettingDto createSetting(SettingDto settingDto) {
         Setting setting = settingMapper.toEntity(settingDto);
         Setting savedSetting = settingRepository.save(setting);
+        cacheGenerations.advance("setting::list");
         return settingMapper.toDto(savedSetting);
     }
 
     @Override
     @CachePut(value = "settings", key = "#id")
-    @CacheEvict(value = "setting::list", allEntries = true)
     public SettingDto updateSetting(Long id, SettingDto settingDto) {
         Setting existingSetting = settingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Setting not found with id: " + id));
@@ -85,22 +101,35 @@ public class SettingServiceImpl implements SettingService {
         }
 
         Setting updatedSetting = settingRepository.save(existingSetting);
+        cacheGenerations.advance("setting::list");
         return settingMapper.toDto(updatedSetting);
     }
 
     @Override
-    @CacheEvict(value = {"settings", "setting::list"}, allEntries = true)
+    @CacheEvict(value = "settings", allEntries = true) // entries are keyed by id and by setting key
     public void deleteSetting(Long id) {
         Setting setting = settingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Setting not found with id: " + id));
         settingRepository.delete(setting);
+        cacheGenerations.advance("setting::list");
     }
 
     @Override
-    @Cacheable(value = "setting::list", key = "'search:' + #name + ':' + #pageable.pageNumber")
+    @Cacheable(value = "setting::list", key = "@cacheGenerations.current('setting::list') + '-search:' + #name + ':' + #pageable.pageNumber")
     public Page<SettingDto> searchSettingsByName(String name, Pageable pageable) {
         Page<SettingDto> page = settingRepository.findByNameContainingIgnoreCase(name, pageable)
                 .map(settingMapper::toDto);
         return new RestPage<>(page.getContent(), pageable, page.getTotalElements());
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<SettingDto> getSettingsByCursor(String after, String before, int size) {
+        return CursorUtil.fetch(after, before, size,
+                limit -> settingRepository.findAllBy(PageRequest.of(0, limit, ID_ASC)),
+                (cursor, limit) -> settingRepository.findByIdGreaterThan(cursor.id(), PageRequest.of(0, limit, ID_ASC)),
+                (cursor, limit) -> settingRepository.findByIdLessThan(cursor.id(), PageRequest.of(0, limit, ID_DESC)),
+                setting -> new CursorUtil.Cursor(null, setting.getId()),
+                settingMapper::toDto);
+    }
 }
@@ -1,5 +1,6 @@
 package com.coremvc.service.impl;
 
+import com.coremvc.cache.CacheGenerations;
 import com.coremvc.dto.RestPage;
 import com.coremvc.dto.UserDto;
 import com.coremvc.exception.ResourceNotFoundException;
@@ -40,6 +41,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final CacheGenerations cacheGenerations;
 
     /**
      * {@inheritDoc}
@@ -50,7 +52,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "users", key = "'all'")
+    @Cacheable(value = "user::list", key = "@cacheGenerations.current('user::list') + '-all'")
     public List<UserDto> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(userMapper::toDto)
@@ -66,7 +68,7 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "users", key = "#pageable.pageNumber + '-' + #pageable.pageSize")
+    @Cacheable(value = "user::list", key = "@cacheGenerations.current('user::list') + '-' + #pageable.pageNumber + '-' + #pageable.pageSize")
     public Page<UserDto> getAllUsers(Pageable pageable) {
         Page<UserDto> page = userRepository.findAll(pageable)
                 .map(userMapper::toDto);
@@ -96,7 +98,7 @@ public class UserServiceImpl implements UserService {
      * {@inheritDoc}
      * <p>
      * Only updates non-null fields from the DTO. Logs successful updates.
-     * Invalidates user cache on update.
+     * Invalidates user cache on update and advances the user list generation.
      * </p>
      */
     @Override
@@ -116,6 +118,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        cacheGenerations.advance("user::list");
         log.info("User with id {} updated successfully", id);
         return userMapper.toDto(updatedUser);
     }
@@ -124,11 +127,11 @@ public class UserServiceImpl implements UserService {
      * {@inheritDoc}
      * <p>
      * Permanently deletes the user from the database. Logs successful deletions.
-     * Invalidates user cache on delete.
+     * Invalidates user cache on delete and advances the user list generation.
      * </p>
      */
     @Override
-    @CacheEvict(value = "users", allEntries = true)
+    @CacheEvict(value = "users", key = "#id")
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> {
@@ -137,6 +140,7 @@ public class UserServiceImpl implements UserService {
                 });
 
         userRepository.delete(user);
+        cacheGenerations.advance("user::list");
         log.info("User with id {} deleted successfully", id);
     }
 }
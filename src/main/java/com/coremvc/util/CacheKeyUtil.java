@@ -0,0 +1,50 @@
+package com.coremvc.util;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Canonical cache key parts for list queries.
+ * <p>
+ * Equivalent requests must map to the same key: search terms are trimmed, lower-cased
+ * and have their whitespace collapsed, and sorts are written as
+ * {@code property:asc|desc} instead of {@link Sort#toString()}, whose format differs
+ * between equivalent sorts (e.g. ignore-case flags) and between Spring versions.
+ * </p>
+ */
+public final class CacheKeyUtil {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private CacheKeyUtil() {
+    }
+
+    /**
+     * Normalized form of a search term; callers should also search with this form so the
+     * cached result matches the key.
+     */
+    public static String normalizeTerm(String term) {
+        return term == null ? "" : WHITESPACE.matcher(term.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    public static String sort(Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return "unsorted";
+        }
+        return sort.stream()
+                .map(order -> order.getProperty() + ":" + (order.isAscending() ? "asc" : "desc")
+                        + (order.isIgnoreCase() ? ":ci" : ""))
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * {@code page-size-sort} for a page request.
+     */
+    public static String page(Pageable pageable) {
+        return pageable.getPageNumber() + "-" + pageable.getPageSize() + "-" + sort(pageable.getSort());
+    }
+}
@@ -0,0 +1,126 @@
+package com.coremvc.util;
+
+import com.coremvc.dto.CursorPage;
+import com.coremvc.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * Helper for keyset (seek) pagination with opaque cursors.
+ * <p>
+ * A cursor encodes the sort key of a boundary row, either {@code (createdAt, id)}
+ * or {@code id} alone, as a Base64URL token. Pages are read by seeking past that key
+ * instead of using OFFSET, and no count query is issued.
+ * </p>
+ */
+public final class CursorUtil {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String SEPARATOR = "|";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * Decoded cursor position. {@code createdAt} is null for id-only cursors.
+     */
+    public record Cursor(LocalDateTime createdAt, Long id) {
+
+        public String encode() {
+            String raw = (createdAt != null ? createdAt.toString() : "") + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Decodes an opaque cursor.
+     *
+     * @param cursor the cursor token sent by the client
+     * @return the decoded cursor position
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static Cursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            String createdAt = raw.substring(0, separator);
+            Long id = Long.valueOf(raw.substring(separator + 1));
+            return new Cursor(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Reads one keyset page.
+     * <p>
+     * Fetches {@code size + 1} rows to learn whether another page exists. Backward reads
+     * ({@code before}) run in the reverse sort order and are flipped back before returning.
+     * </p>
+     *
+     * @param after      cursor of the last row of the previous page, or null
+     * @param before     cursor of the first row of the next page, or null
+     * @param size       requested page size
+     * @param firstPage  loads the first page given a row limit
+     * @param afterPage  loads rows after a cursor in list order given a row limit
+     * @param beforePage loads rows before a cursor in reverse list order given a row limit
+     * @param cursorOf   extracts the cursor position of a row
+     * @param mapper     maps rows to DTOs
+     * @return the cursor page
+     * @throws BadRequestException if both {@code after} and {@code before} are supplied
+     */
+    public static <E, T> CursorPage<T> fetch(String after, String before, int size,
+                                             IntFunction<List<E>> firstPage,
+                                             BiFunction<Cursor, Integer, List<E>> afterPage,
+                                             BiFunction<Cursor, Integer, List<E>> beforePage,
+                                             Function<E, Cursor> cursorOf,
+                                             Function<E, T> mapper) {
+        if (after != null && before != null) {
+            throw new BadRequestException("Only one of 'after' or 'before' may be specified");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int limit = pageSize + 1;
+        boolean backward = before != null;
+
+        List<E> rows;
+        if (after != null) {
+            rows = afterPage.apply(decode(after), limit);
+        } else if (backward) {
+            rows = beforePage.apply(decode(before), limit);
+        } else {
+            rows = firstPage.apply(limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<E> page = new ArrayList<>(hasMore ? rows.subList(0, pageSize) : rows);
+        if (backward) {
+            Collections.reverse(page);
+        }
+
+        boolean hasNext = backward || hasMore;
+        boolean hasPrevious = backward ? hasMore : after != null;
+
+        return CursorPage.<T>builder()
+                .content(page.stream().map(mapper).toList())
+                .size(pageSize)
+                .nextCursor(hasNext && !page.isEmpty() ? cursorOf.apply(page.get(page.size() - 1)).encode() : null)
+                .prevCursor(hasPrevious && !page.isEmpty() ? cursorOf.apply(page.get(0)).encode() : null)
+                .hasNext(hasNext && !page.isEmpty())
+                .hasPrevious(hasPrevious && !page.isEmpty())
+                .build();
+    }
+}
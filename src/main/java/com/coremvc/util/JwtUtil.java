@@ -1,15 +1,20 @@
 package com.coremvc.util;
 
+import com.coremvc.security.JwtPrincipal;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Utility class for JWT token operations.
@@ -18,6 +23,10 @@ import java.util.Date;
  * Uses HMAC-SHA algorithm for token signing and verification.
  * Supports both access tokens and refresh tokens with different expiration times.
  * </p>
+ * <p>
+ * The signing key and the parser are built once at startup; both are immutable and
+ * shared by all threads.
+ * </p>
  *
  * @author MVC Core Team
  * @version 1.0.0
@@ -36,22 +45,38 @@ public class JwtUtil {
     @Value("${jwt.refresh-expiration:604800000}")
     private long refreshTokenExpiration;
     
+    private SecretKey signingKey;
+    
+    private JwtParser parser;
+    
     /**
-     * Gets the secret key for JWT signing.
+     * Derives the signing key and builds the verifying parser.
      * <p>
      * Converts the secret string to a SecretKey using HMAC-SHA.
      * </p>
+     */
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+    
+    /**
+     * Gets the secret key for JWT signing.
      *
      * @return SecretKey for JWT operations
      */
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
     
     /**
      * Generates an access token for a user.
      * <p>
-     * The token includes user UUID, email, and role as claims.
+     * The token includes user UUID, email, and role as claims, and a unique
+     * id ({@code jti}) by which it can be revoked.
      * Expires after the configured expiration time (default: 24 hours).
      * </p>
      *
@@ -62,6 +87,7 @@ public class JwtUtil {
      */
     public String generateToken(String uuid, String email, String role) {
         String token = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(uuid)
                 .claim("email", email)
                 .claim("role", role)
@@ -78,6 +104,7 @@ public class JwtUtil {
      * Refresh tokens have a longer expiration time (default: 7 days)
      * and are used to obtain new access tokens without re-authentication.
      * Uses user UUID as subject for consistency with access tokens.
+     * Carries a unique id ({@code jti}) so it can be revoked and rotated.
      * </p>
      *
      * @param uuid the user's unique identifier
@@ -85,6 +112,7 @@ public class JwtUtil {
      */
     public String generateRefreshToken(String uuid) {
         String token = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(uuid)
                 .claim("type", "refresh")
                 .issuedAt(new Date())
@@ -94,6 +122,29 @@ public class JwtUtil {
         return token;
     }
     
+    /**
+     * Verifies a JWT token and returns its principal.
+     * <p>
+     * Checks signature and expiration with a single parse; use this instead of
+     * {@link #validateToken} followed by the extract methods.
+     * </p>
+     *
+     * @param token the JWT token
+     * @return the principal read from the verified claims
+     * @throws ExpiredJwtException if the token is expired
+     * @throws JwtException if the token is malformed or its signature is invalid
+     */
+    public JwtPrincipal verify(String token) {
+        Claims claims = getClaims(token);
+        return new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("email", String.class),
+                claims.getId(),
+                claims.get("type", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+    
     /**
      * Extracts the UUID from a JWT token.
      *
@@ -137,10 +188,7 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return true;
         } catch (ExpiredJwtException e) {
             log.warn("JWT token expired: {}", e.getMessage());
@@ -159,10 +207,7 @@ public class JwtUtil {
      */
     public boolean isTokenExpired(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return false;
         } catch (ExpiredJwtException e) {
             return true;
@@ -178,10 +223,6 @@ public class JwtUtil {
      * @return Claims object containing token data
      */
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,194 @@
+package com.coremvc.controller;
+
+import com.coremvc.dto.RegisterRequest;
+import com.coremvc.repository.UserRepository;
+import com.coremvc.security.ClientAddressResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration test for the limits of the password hashing pool: one thread, one queue slot
+ * and one hash in flight per client, with an encoder that blocks until the test lets it run.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "auth.password-pool.threads=1",
+                "auth.password-pool.queue-capacity=1",
+                "auth.password-pool.per-client-limit=1",
+                "auth.password-pool.max-queue-wait=1s"
+        })
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Password hashing pool limits")
+public class PasswordWorkPoolLimitsTest {
+
+    private static volatile CountDownLatch gate = new CountDownLatch(0);
+
+    @TestConfiguration
+    static class BlockingEncoderConfig {
+
+        @Bean
+        @Primary
+        PasswordEncoder blockingPasswordEncoder() {
+            PasswordEncoder delegate = new BCryptPasswordEncoder(4);
+            return new PasswordEncoder() {
+                @Override
+                public String encode(CharSequence rawPassword) {
+                    await();
+                    return delegate.encode(rawPassword);
+                }
+
+                @Override
+                public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                    await();
+                    return delegate.matches(rawPassword, encodedPassword);
+                }
+            };
+        }
+
+        private static void await() {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        gate = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gate.countDown();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should reject a client over its limit with 429")
+    void testRegister_ClientLimit() throws Exception {
+        double rejected = rejected("client_limit");
+
+        MvcResult running = startRegister("203.0.113.1", "limit1@example.com");
+
+        register("203.0.113.1", "limit2@example.com")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.code", is("TOO_MANY_REQUESTS")));
+        assertEquals(rejected + 1, rejected("client_limit"));
+
+        // Another client is not affected
+        MvcResult other = startRegister("203.0.113.2", "limit3@example.com");
+
+        gate.countDown();
+        mockMvc.perform(asyncDispatch(running))
+                .andExpect(status().isCreated());
+        mockMvc.perform(asyncDispatch(other))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should reject with 503 and Retry-After when the queue is full")
+    void testRegister_QueueFull() throws Exception {
+        double rejected = rejected("saturated");
+
+        // One hash on the thread, one in the queue
+        MvcResult running = startRegister("203.0.113.3", "full1@example.com");
+        MvcResult queued = startRegister("203.0.113.4", "full2@example.com");
+
+        register("203.0.113.5", "full3@example.com")
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.code", is("SERVICE_UNAVAILABLE")));
+        assertEquals(rejected + 1, rejected("saturated"));
+
+        gate.countDown();
+        mockMvc.perform(asyncDispatch(running))
+                .andExpect(status().isCreated());
+        mockMvc.perform(asyncDispatch(queued))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should reject a hash that waited longer than max-queue-wait with 503")
+    void testRegister_QueueTimeout() throws Exception {
+        double rejected = rejected("queue_timeout");
+
+        MvcResult running = startRegister("203.0.113.6", "wait1@example.com");
+        MvcResult queued = startRegister("203.0.113.7", "wait2@example.com");
+
+        Thread.sleep(1500);
+        gate.countDown();
+
+        mockMvc.perform(asyncDispatch(running))
+                .andExpect(status().isCreated());
+        mockMvc.perform(asyncDispatch(queued))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        assertEquals(rejected + 1, rejected("queue_timeout"));
+        Assertions.assertFalse(userRepository.existsByEmail("wait2@example.com"));
+    }
+
+    private MvcResult startRegister(String clientAddress, String email) throws Exception {
+        return register(clientAddress, email)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private ResultActions register(String clientAddress, String email) throws Exception {
+        // MockMvc requests come from 127.0.0.1, a trusted proxy, so the header picks the client
+        return mockMvc.perform(post("/api/v1/auth/register")
+                .header(ClientAddressResolver.FORWARDED_FOR_HEADER, clientAddress)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(RegisterRequest.builder()
+                        .email(email)
+                        .fullName("Pool User")
+                        .password("password123")
+                        .build())));
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.counter("auth.password.rejected", "operation", "encode", "reason", reason).count();
+    }
+}
@@ -1,22 +1,69 @@
 package com.coremvc.controller;
 
+import com.coremvc.cache.CacheGenerations;
+import com.coremvc.cache.CacheInvalidationBus;
+import com.coremvc.cache.CacheInvalidationMessage;
+import com.coremvc.cache.RedisSubscriptions;
+import com.coremvc.cache.RemoteCacheGuard;
+import com.coremvc.cache.TwoLevelCache;
 import com.coremvc.dto.ProductDto;
+import com.coremvc.dto.RestPage;
+import com.coremvc.initializer.CacheWarmupRunner;
 import com.coremvc.model.Product;
 import com.coremvc.repository.ProductRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
@@ -41,12 +88,30 @@ public class ProductControllerTest {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private CacheGenerations cacheGenerations;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CacheWarmupRunner cacheWarmupRunner;
+
+    @Autowired
+    private RedisSubscriptions redisSubscriptions;
+
     private Product testProduct;
     private ProductDto productDto;
 
     @BeforeEach
     void setUp() {
         productRepository.deleteAll();
+        // Products are written through the repository, past the service's cache invalidation;
+        // drop product pages cached by the start-up warm-up or an earlier test
+        ((TransactionAwareCacheDecorator) cacheManager.getCache("product::page")).getTargetCache().clear();
 
         testProduct = Product.builder()
                 .name("Test Product")
@@ -466,4 +531,609 @@ public class ProductControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success", is(true)));
     }
+
+    @Test
+    @Order(24)
+    @DisplayName("Should page through products with keyset cursors")
+    void testGetProductsByCursor_Success() throws Exception {
+        productRepository.save(Product.builder()
+                .name("Second Product")
+                .price(new BigDecimal("10.00"))
+                .categoryId(1L)
+                .build());
+        productRepository.save(Product.builder()
+                .name("Third Product")
+                .price(new BigDecimal("20.00"))
+                .categoryId(1L)
+                .build());
+
+        MvcResult firstPage = mockMvc.perform(get("/api/v1/products/cursor")
+                .with(user("admin").roles("ADMIN"))
+                .param("size", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data.content", hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].name", is("Third Product")))
+                .andExpect(jsonPath("$.data.hasNext", is(true)))
+                .andExpect(jsonPath("$.data.hasPrevious", is(false)))
+                .andExpect(jsonPath("$.data.nextCursor", notNullValue()))
+                .andReturn();
+
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.data.nextCursor");
+
+        MvcResult secondPage = mockMvc.perform(get("/api/v1/products/cursor")
+                .with(user("admin").roles("ADMIN"))
+                .param("after", nextCursor)
+                .param("size", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].name", is("Test Product")))
+                .andExpect(jsonPath("$.data.hasNext", is(false)))
+                .andExpect(jsonPath("$.data.hasPrevious", is(true)))
+                .andReturn();
+
+        String prevCursor = JsonPath.read(secondPage.getResponse().getContentAsString(), "$.data.prevCursor");
+
+        mockMvc.perform(get("/api/v1/products/cursor")
+                .with(user("admin").roles("ADMIN"))
+                .param("before", prevCursor)
+                .param("size", "2")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(2)))
+                .andExpect(jsonPath("$.data.content[0].name", is("Third Product")))
+                .andExpect(jsonPath("$.data.content[1].name", is("Second Product")))
+                .andExpect(jsonPath("$.data.hasNext", is(true)));
+    }
+
+    @Test
+    @Order(25)
+    @DisplayName("Should allow category cursor listing without authentication")
+    void testGetProductsByCategoryIdAndCursor_PublicAccess() throws Exception {
+        mockMvc.perform(get("/api/v1/products/category-id/{categoryId}/cursor", 1L)
+                .param("size", "10")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.hasNext", is(false)));
+    }
+
+    @Test
+    @Order(26)
+    @DisplayName("Should return 400 for a malformed cursor")
+    void testGetProductsByCursor_InvalidCursor() throws Exception {
+        mockMvc.perform(get("/api/v1/products/cursor")
+                .with(user("admin").roles("ADMIN"))
+                .param("after", "not-a-cursor")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(27)
+    @DisplayName("Should omit totals when countMode is absent")
+    void testGetProductsByCategoryId_CountModeAbsent() throws Exception {
+        productRepository.save(Product.builder()
+                .name("Second Product")
+                .price(new BigDecimal("10.00"))
+                .categoryId(1L)
+                .build());
+
+        mockMvc.perform(get("/api/v1/products/category-id/{categoryId}", 1L)
+                .param("size", "1")
+                .param("countMode", "absent")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.countMode", is("ABSENT")))
+                .andExpect(jsonPath("$.data.totalElements").doesNotExist())
+                .andExpect(jsonPath("$.data.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.data.last", is(false)));
+    }
+
+    @Test
+    @Order(28)
+    @DisplayName("Should report an estimated total when countMode is estimated")
+    void testGetAllProducts_CountModeEstimated() throws Exception {
+        mockMvc.perform(get("/api/v1/products")
+                .with(user("admin").roles("ADMIN"))
+                .param("countMode", "estimated")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.countMode", is("ESTIMATED")))
+                .andExpect(jsonPath("$.data.totalElements", is(1)))
+                .andExpect(jsonPath("$.data.last", is(true)));
+    }
+
+    @Test
+    @Order(29)
+    @DisplayName("Should return 400 for an unknown countMode")
+    void testGetAllProducts_InvalidCountMode() throws Exception {
+        mockMvc.perform(get("/api/v1/products")
+                .with(user("admin").roles("ADMIN"))
+                .param("countMode", "sometimes")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(30)
+    @DisplayName("Should return 400 for search index stats when the engine keeps no index")
+    void testGetSearchIndexStats_NoIndex() throws Exception {
+        mockMvc.perform(get("/api/v1/products/search/index")
+                .with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(31)
+    @DisplayName("Should return 403 for search index rebuild when user is not admin")
+    void testRebuildSearchIndex_Forbidden() throws Exception {
+        mockMvc.perform(post("/api/v1/products/search/index/rebuild")
+                .with(user("user").roles("USER"))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Order(32)
+    @DisplayName("Should stream products as CSV for admin")
+    void testExportProducts_Csv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/products/export")
+                .with(user("admin").roles("ADMIN"))
+                .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", containsString("products.csv")))
+                .andExpect(content().string(startsWith(
+                        "id,name,description,price,categoryId,thumbnailUrl,isActive,createdAt,updatedAt\r\n")));
+    }
+
+    @Test
+    @Order(33)
+    @DisplayName("Should return 400 for an unknown export format")
+    void testExportProducts_InvalidFormat() throws Exception {
+        mockMvc.perform(get("/api/v1/products/export")
+                .with(user("admin").roles("ADMIN"))
+                .param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(34)
+    @DisplayName("Should return 403 for export when user is not admin")
+    void testExportProducts_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/v1/products/export")
+                .with(user("user").roles("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Order(35)
+    @DisplayName("Should import valid NDJSON rows and report rejected ones")
+    void testImportProducts_Ndjson() throws Exception {
+        String body = """
+                {"name":"Imported One","price":12.50,"categoryId":1}
+                {"name":"Imported Two","price":3,"description":"second","isActive":false}
+
+                {"name":"","price":1}
+                not json
+                """;
+
+        mockMvc.perform(post("/api/v1/products/import")
+                .with(user("admin").roles("ADMIN"))
+                .param("format", "ndjson")
+                .contentType("application/x-ndjson")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.received", is(4)))
+                .andExpect(jsonPath("$.data.imported", is(2)))
+                .andExpect(jsonPath("$.data.rejected", is(2)))
+                .andExpect(jsonPath("$.data.failedBatches", is(0)))
+                .andExpect(jsonPath("$.data.errors[0].line", is(4)))
+                .andExpect(jsonPath("$.data.errors[1].line", is(5)));
+
+        Assertions.assertEquals(3, productRepository.count());
+    }
+
+    @Test
+    @Order(36)
+    @DisplayName("Should import CSV rows with quoted fields")
+    void testImportProducts_Csv() throws Exception {
+        String body = "name,price,description,categoryId\r\n"
+                + "\"Desk, oak\",199.99,\"Says \"\"solid\"\"\nand sturdy\",2\r\n"
+                + "Lamp,-1,,\r\n";
+
+        mockMvc.perform(post("/api/v1/products/import")
+                .with(user("admin").roles("ADMIN"))
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported", is(1)))
+                .andExpect(jsonPath("$.data.rejected", is(1)))
+                .andExpect(jsonPath("$.data.errors[0].line", is(4)));
+
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("name", "Desk"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name", is("Desk, oak")))
+                .andExpect(jsonPath("$.data.content[0].description", is("Says \"solid\"\nand sturdy")));
+    }
+
+    @Test
+    @Order(37)
+    @DisplayName("Should return 400 for a CSV import without required columns")
+    void testImportProducts_CsvMissingColumns() throws Exception {
+        mockMvc.perform(post("/api/v1/products/import")
+                .with(user("admin").roles("ADMIN"))
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content("title,cost\r\nLamp,1\r\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Order(38)
+    @DisplayName("Should give every cache an L1 tier and keep serving it while Redis is down")
+    void testTwoLevelCache_L1ServesWithoutRedis() {
+        // category::list used to be Redis-only; the L2 is unreachable in tests
+        Cache cache = ((TransactionAwareCacheDecorator) cacheManager.getCache("category::list")).getTargetCache();
+        Assertions.assertTrue(cache instanceof TwoLevelCache);
+
+        cache.put("all", "cached-list");
+
+        Assertions.assertEquals("cached-list", cache.get("all", String.class));
+        Assertions.assertEquals("cached-list",
+                ((TwoLevelCache) cache).getLocalCache().get("all", String.class));
+
+        cache.evict("all");
+        Assertions.assertNull(cache.get("all"));
+    }
+
+    @Test
+    @Order(39)
+    @DisplayName("Should evict L1 entries named in another node's invalidation message")
+    void testCacheInvalidationBus_AppliesRemoteEvictions() {
+        Cache cache = ((TransactionAwareCacheDecorator) cacheManager.getCache("products")).getTargetCache();
+        Cache local = ((TwoLevelCache) cache).getLocalCache();
+        local.put(1L, "stale");
+        local.put(2L, "fresh");
+
+        cacheInvalidationBus.apply(new CacheInvalidationMessage(cacheInvalidationBus.getNodeId(), 1,
+                List.of(CacheInvalidationMessage.Entry.of("products", 1L))));
+        Assertions.assertNotNull(local.get(1L), "own messages are ignored");
+
+        cacheInvalidationBus.apply(new CacheInvalidationMessage("other-node", 1,
+                List.of(CacheInvalidationMessage.Entry.of("products", 1L))));
+        Assertions.assertNull(local.get(1L));
+        Assertions.assertNotNull(local.get(2L));
+
+        // Sequence 3 after 1: batch 2 was missed, so the whole L1 is dropped
+        cacheInvalidationBus.apply(new CacheInvalidationMessage("other-node", 3, List.of()));
+        Assertions.assertNull(local.get(2L));
+    }
+
+    @Test
+    @Order(40)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should invalidate cached product pages by advancing their generation")
+    void testCacheGenerations_AdvanceChangesPageKeys() {
+        long generation = cacheGenerations.current("product::page");
+        long settingGeneration = cacheGenerations.current("setting::list");
+
+        cacheGenerations.advance("product::page");
+
+        Assertions.assertEquals(generation + 1, cacheGenerations.current("product::page"));
+        Assertions.assertEquals(settingGeneration, cacheGenerations.current("setting::list"));
+    }
+
+    @Test
+    @Order(41)
+    @DisplayName("Should load a missing key once while concurrent callers wait for the result")
+    void testTwoLevelCache_SingleFlightLoad() throws Exception {
+        Cache cache = ((TransactionAwareCacheDecorator) cacheManager.getCache("products")).getTargetCache();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get("single-flight", () -> {
+                        loads.incrementAndGet();
+                        Thread.sleep(200);
+                        return "loaded";
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                Assertions.assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    @Order(42)
+    @DisplayName("Should give L1 entries jittered expiry times around the configured TTL")
+    @SuppressWarnings("unchecked")
+    void testTwoLevelCache_JitteredL1Expiry() {
+        Cache local = ((TwoLevelCache) ((TransactionAwareCacheDecorator) cacheManager.getCache("products"))
+                .getTargetCache()).getLocalCache();
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) local.getNativeCache();
+
+        Set<Long> expiries = new HashSet<>();
+        for (long key = 1; key <= 20; key++) {
+            local.put(key, "value");
+            Duration expiresAfter = nativeCache.policy().expireVariably().orElseThrow().getExpiresAfter(key).orElseThrow();
+            Assertions.assertTrue(expiresAfter.compareTo(Duration.ofMinutes(4)) >= 0
+                    && expiresAfter.compareTo(Duration.ofMinutes(6)) <= 0, "expiry " + expiresAfter);
+            expiries.add(expiresAfter.toSeconds());
+        }
+        Assertions.assertTrue(expiries.size() > 1, "entries written together should not expire together");
+    }
+
+    @Test
+    @Order(43)
+    @DisplayName("Should store product pages as versioned binary values and treat other versions as misses")
+    void testRedisCache_BinaryValueSerialization() {
+        RedisCache redisCache = (RedisCache) ((TwoLevelCache) ((TransactionAwareCacheDecorator) cacheManager
+                .getCache("product::page")).getTargetCache()).getRemoteCache();
+        RedisSerializationContext.SerializationPair<Object> values = redisCache.getCacheConfiguration().getValueSerializationPair();
+        RestPage<ProductDto> page = new RestPage<>(List.of(productDto), PageRequest.of(0, 20), 1);
+
+        ByteBuffer written = values.write(page);
+        byte[] bytes = new byte[written.remaining()];
+        written.get(bytes);
+
+        Object read = values.read(ByteBuffer.wrap(bytes));
+        Assertions.assertTrue(read instanceof RestPage);
+        Assertions.assertEquals(productDto.getName(), ((ProductDto) ((RestPage<?>) read).getContent().get(0)).getName());
+        Assertions.assertTrue(redisCache.getCacheConfiguration().getKeyPrefixFor("product::page").startsWith("product::page::v"));
+
+        bytes[1]++; // a value written by another schema version
+        Assertions.assertNull(values.read(ByteBuffer.wrap(bytes)));
+    }
+
+    @Test
+    @Order(44)
+    @DisplayName("Should serve equivalent search queries from one cache entry and count the hit")
+    void testSearchProducts_NormalizedCacheKey() throws Exception {
+        cacheManager.getCache("product::page").clear();
+        double hits = searchCacheRequests("hit");
+        double misses = searchCacheRequests("miss");
+
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("name", "  Test   PRODUCT ")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name", is("Test Product")));
+        mockMvc.perform(get("/api/v1/products/search")
+                .param("name", "test product")
+                .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content[0].name", is("Test Product")));
+
+        Assertions.assertEquals(misses + 1, searchCacheRequests("miss"));
+        Assertions.assertEquals(hits + 1, searchCacheRequests("hit"));
+    }
+
+    private double searchCacheRequests(String result) {
+        Counter counter = meterRegistry.find("cache.query.requests")
+                .tags("shape", "search", "result", result)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Test
+    @Order(45)
+    @DisplayName("Should publish L1 cache statistics and two-level load timings to the meter registry")
+    void testCacheMetrics_BoundToMeterRegistry() {
+        Assertions.assertFalse(meterRegistry.find("cache.gets")
+                .tags("cache", "products", "cache.manager", "caffeine")
+                .meters().isEmpty());
+
+        Cache cache = ((TransactionAwareCacheDecorator) cacheManager.getCache("products")).getTargetCache();
+        cache.evict("metrics");
+        cache.get("metrics", () -> "loaded");
+
+        Timer loads = meterRegistry.find("cache.twolevel.load")
+                .tags("cache", "products", "mode", "load", "result", "success")
+                .timer();
+        Assertions.assertNotNull(loads);
+        Assertions.assertTrue(loads.count() >= 1);
+    }
+
+    @Test
+    @Order(46)
+    @DisplayName("Should weigh L1 entries by estimated size and report retained bytes per cache")
+    @SuppressWarnings("unchecked")
+    void testTwoLevelCache_WeightedL1() {
+        Cache local = ((TwoLevelCache) ((TransactionAwareCacheDecorator) cacheManager.getCache("product::page"))
+                .getTargetCache()).getLocalCache();
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) local.getNativeCache();
+        com.github.benmanes.caffeine.cache.Policy.Eviction<Object, Object> eviction =
+                nativeCache.policy().eviction().orElseThrow();
+
+        List<ProductDto> products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            products.add(ProductDto.builder()
+                    .id((long) i)
+                    .name("Product " + i)
+                    .description("Description " + i)
+                    .price(new BigDecimal("9.99"))
+                    .build());
+        }
+        local.put("weight-small", new RestPage<>(List.of(productDto), PageRequest.of(0, 1), 1));
+        local.put("weight-large", new RestPage<>(products, PageRequest.of(0, 100), 100));
+
+        int small = eviction.weightOf("weight-small").orElseThrow();
+        int large = eviction.weightOf("weight-large").orElseThrow();
+        Assertions.assertTrue(large > 10 * small, "a page of 100 products should weigh far more than a page of 1");
+        Assertions.assertTrue(eviction.getMaximum() < Long.MAX_VALUE);
+
+        nativeCache.cleanUp();
+        Gauge retained = meterRegistry.find("cache.l1.weight").tags("cache", "product::page").gauge();
+        Assertions.assertNotNull(retained);
+        Assertions.assertTrue(retained.value() >= small + large);
+    }
+
+    @Test
+    @Order(47)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should preload product pages into L1 and report ready once warm-up has finished")
+    void testCacheWarmup_PreloadsProductPages() throws Exception {
+        Cache local = ((TwoLevelCache) ((TransactionAwareCacheDecorator) cacheManager.getCache("product::page"))
+                .getTargetCache()).getLocalCache();
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache =
+                (com.github.benmanes.caffeine.cache.Cache<?, ?>) local.getNativeCache();
+        local.clear();
+
+        cacheWarmupRunner.run(null);
+
+        Assertions.assertTrue(nativeCache.estimatedSize() > 0, "warm-up should fill the product page L1 cache");
+        mockMvc.perform(get("/api/v1/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("UP")));
+    }
+
+    @Test
+    @Order(48)
+    @DisplayName("Should read invalidation messages as JSON with type-tagged keys only")
+    void testCacheInvalidationBus_JsonWireFormat() throws Exception {
+        Cache local = ((TwoLevelCache) ((TransactionAwareCacheDecorator) cacheManager.getCache("products"))
+                .getTargetCache()).getLocalCache();
+        local.put(7L, "stale");
+        local.put(8L, "fresh");
+        byte[] channel = "coremvc:cache-invalidation".getBytes(StandardCharsets.UTF_8);
+
+        // Java-serialized payloads are not deserialized
+        byte[] javaPayload = RedisSerializer.java().serialize(new ArrayList<>(List.of("products", 7L)));
+        cacheInvalidationBus.onMessage(new DefaultMessage(channel, javaPayload), null);
+        Assertions.assertNotNull(local.get(7L));
+
+        CacheInvalidationMessage message = new CacheInvalidationMessage("json-node", 1,
+                List.of(CacheInvalidationMessage.Entry.of("products", 7L)));
+        String json = objectMapper.writeValueAsString(message);
+        Assertions.assertTrue(json.contains("\"L:7\""), json);
+        cacheInvalidationBus.onMessage(new DefaultMessage(channel, json.getBytes(StandardCharsets.UTF_8)), null);
+        Assertions.assertNull(local.get(7L));
+        Assertions.assertNotNull(local.get(8L));
+
+        Assertions.assertEquals(8L, CacheInvalidationMessage.Entry.of("products", 8L).decodedKey());
+        Assertions.assertEquals("all", CacheInvalidationMessage.Entry.of("category::list", "all").decodedKey());
+        Assertions.assertFalse(CacheInvalidationMessage.isSupportedKey(new Object()));
+    }
+
+    @Test
+    @Order(49)
+    @DisplayName("Should start without Redis and keep retrying the pub/sub subscription in the background")
+    void testRedisSubscriptions_DoNotBlockStartup() {
+        // Redis is unreachable in tests, yet the context started
+        Assertions.assertTrue(redisSubscriptions.isRunning());
+        Assertions.assertFalse(redisSubscriptions.isSubscribed());
+    }
+
+    @Test
+    @Order(50)
+    @DisplayName("Should announce explicit writes to other instances but not values loaded from the source")
+    void testTwoLevelCache_LoadsAreNotBroadcast() {
+        Cache cache = ((TransactionAwareCacheDecorator) cacheManager.getCache("products")).getTargetCache();
+        cache.evict(-50L);
+        long stamp = cacheInvalidationBus.stamp("products", -50L);
+
+        Assertions.assertEquals("loaded", cache.get(-50L, () -> "loaded"));
+        Assertions.assertEquals(stamp, cacheInvalidationBus.stamp("products", -50L), "a miss-load is not an invalidation");
+
+        cache.put(-50L, "written");
+        Assertions.assertNotEquals(stamp, cacheInvalidationBus.stamp("products", -50L), "a put invalidates other L1s");
+    }
+
+    @Test
+    @Order(51)
+    @DisplayName("Should version invalidations per key, so writes to other keys do not discard a refresh")
+    void testCacheInvalidationBus_StampsPerKey() {
+        long stamp = cacheInvalidationBus.stamp("products", -60L);
+
+        cacheInvalidationBus.evicted("products", -61L);
+        Assertions.assertEquals(stamp, cacheInvalidationBus.stamp("products", -60L));
+
+        cacheInvalidationBus.evicted("products", -60L);
+        long evicted = cacheInvalidationBus.stamp("products", -60L);
+        Assertions.assertNotEquals(stamp, evicted);
+
+        cacheInvalidationBus.cleared("products");
+        Assertions.assertNotEquals(evicted, cacheInvalidationBus.stamp("products", -60L));
+    }
+
+    @Test
+    @Order(52)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @SuppressWarnings("unchecked")
+    @DisplayName("Should move the Redis generation past generations used locally during an outage")
+    void testCacheGenerations_ReconcileAfterOutage() {
+        AtomicBoolean redisDown = new AtomicBoolean();
+        AtomicLong counter = new AtomicLong(5);
+        Runnable failIfDown = () -> {
+            if (redisDown.get()) {
+                throw new RedisConnectionFailureException("Redis is down");
+            }
+        };
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(values.get(anyString())).thenAnswer(invocation -> {
+            failIfDown.run();
+            return String.valueOf(counter.get());
+        });
+        when(values.increment(anyString())).thenAnswer(invocation -> {
+            failIfDown.run();
+            return counter.incrementAndGet();
+        });
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString())).thenAnswer(invocation -> {
+            failIfDown.run();
+            long localGeneration = Long.parseLong(invocation.getArgument(2));
+            return counter.updateAndGet(generation -> Math.max(generation, localGeneration) + 1);
+        });
+        CacheGenerations generations = new CacheGenerations(new ConcurrentMapCache(CacheGenerations.CACHE_NAME),
+                redisTemplate, new RemoteCacheGuard(Duration.ZERO), cacheInvalidationBus, "test:generation:");
+
+        Assertions.assertEquals(5, generations.current("outage::list"));
+
+        // Redis down: a write advances the generation on this instance only
+        redisDown.set(true);
+        generations.advance("outage::list");
+        Assertions.assertEquals(6, generations.current("outage::list"));
+        Assertions.assertEquals(5, counter.get());
+
+        // Redis back: neither 5 (stale) nor 6 (used during the outage) may be read again
+        redisDown.set(false);
+        Assertions.assertEquals(7, generations.current("outage::list"));
+        Assertions.assertEquals(7, counter.get());
+        generations.advance("outage::list");
+        Assertions.assertEquals(8, generations.current("outage::list"));
+
+        // A write right after the outage also moves past the local generation
+        redisDown.set(true);
+        generations.advance("outage::list");
+        Assertions.assertEquals(9, generations.current("outage::list"));
+        redisDown.set(false);
+        generations.advance("outage::list");
+        Assertions.assertEquals(10, counter.get());
+        Assertions.assertEquals(10, generations.current("outage::list"));
+    }
 }
@@ -0,0 +1,198 @@
+package com.coremvc.controller;
+
+import com.coremvc.dto.ProductDto;
+import com.coremvc.model.Product;
+import com.coremvc.repository.ProductRepository;
+import com.coremvc.search.ProductSearchEngine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "product.search.engine=memory")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Transactional
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DisplayName("Product search with the in-memory engine")
+public class ProductSearchMemoryEngineTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchEngine productSearchEngine;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Product wirelessMouse;
+    private Product wirelessKeyboard;
+    private Product wiredMousePad;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        wirelessMouse = productRepository.save(product("Wireless Mouse", "Ergonomic optical mouse"));
+        wirelessKeyboard = productRepository.save(product("Wireless Keyboard", "Mechanical keys"));
+        wiredMousePad = productRepository.save(product("Wired Mouse Pad", "Cloth surface"));
+
+        // The index outlives each test's rollback and repository writes bypass it; rebuild it from
+        // this test's rows and drop search pages cached by an earlier test
+        productSearchEngine.rebuild();
+        ((TransactionAwareCacheDecorator) cacheManager.getCache("product::page")).getTargetCache().clear();
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Should use the in-memory engine")
+    void testIndexStats_MemoryEngine() throws Exception {
+        assertEquals("memory", productSearchEngine.name());
+
+        mockMvc.perform(get("/api/v1/products/search/index")
+                .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.engine", is("memory")))
+                .andExpect(jsonPath("$.data.documents", is(3)))
+                .andExpect(jsonPath("$.data.rebuilding", is(false)));
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Should require every query word to prefix a product word, in any order")
+    void testSearch_TokenisedPrefixMatches() throws Exception {
+        search("wire mou", 0, 10)
+                .andExpect(jsonPath("$.data.totalElements", is(2)))
+                .andExpect(jsonPath("$.data.content[*].name", contains("Wireless Mouse", "Wired Mouse Pad")));
+
+        search("MOUSE, wireless", 0, 10)
+                .andExpect(jsonPath("$.data.content[*].name", contains("Wireless Mouse")));
+
+        // Descriptions are indexed too
+        search("ergo", 0, 10)
+                .andExpect(jsonPath("$.data.content[*].name", contains("Wireless Mouse")));
+
+        // A prefix match, not a substring match
+        search("less", 0, 10)
+                .andExpect(jsonPath("$.data.content", hasSize(0)));
+
+        search("wireless trackball", 0, 10)
+                .andExpect(jsonPath("$.data.content", hasSize(0)));
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Should order matches by id and page through them")
+    void testSearch_OrderingAndPaging() throws Exception {
+        search("wi", 0, 2)
+                .andExpect(jsonPath("$.data.totalElements", is(3)))
+                .andExpect(jsonPath("$.data.totalPages", is(2)))
+                .andExpect(jsonPath("$.data.content[*].id", contains(
+                        wirelessMouse.getId().intValue(), wirelessKeyboard.getId().intValue())));
+
+        search("wi", 1, 2)
+                .andExpect(jsonPath("$.data.totalElements", is(3)))
+                .andExpect(jsonPath("$.data.content[*].id", contains(wiredMousePad.getId().intValue())));
+
+        search("wi", 2, 2)
+                .andExpect(jsonPath("$.data.totalElements", is(3)))
+                .andExpect(jsonPath("$.data.content", hasSize(0)));
+    }
+
+    @Test
+    @Order(4)
+    @DisplayName("Should index products on create, update and delete")
+    void testSearch_IndexFollowsWrites() throws Exception {
+        ProductDto created = ProductDto.builder()
+                .name("Bluetooth Speaker")
+                .description("Portable speaker")
+                .price(new BigDecimal("59.99"))
+                .categoryId(3L)
+                .isActive(true)
+                .build();
+        MvcResult result = mockMvc.perform(post("/api/v1/products")
+                .with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(created)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Integer id = JsonPath.read(result.getResponse().getContentAsString(), "$.data.id");
+
+        search("blue spea", 0, 10)
+                .andExpect(jsonPath("$.data.content[*].id", contains(id)));
+
+        ProductDto renamed = ProductDto.builder()
+                .name("Wireless Speaker")
+                .price(new BigDecimal("59.99"))
+                .build();
+        mockMvc.perform(put("/api/v1/products/{id}", id)
+                .with(user("admin").roles("ADMIN"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(renamed)))
+                .andExpect(status().isOk());
+
+        search("bluetooth", 0, 10)
+                .andExpect(jsonPath("$.data.content", hasSize(0)));
+        search("wireless", 0, 10)
+                .andExpect(jsonPath("$.data.content[*].id", contains(
+                        wirelessMouse.getId().intValue(), wirelessKeyboard.getId().intValue(), id)));
+        // The description was not part of the update and stays searchable
+        search("portable", 0, 10)
+                .andExpect(jsonPath("$.data.content[*].id", contains(id)));
+
+        mockMvc.perform(delete("/api/v1/products/{id}", id)
+                .with(user("admin").roles("ADMIN")))
+                .andExpect(status().isOk());
+
+        search("speaker", 0, 10)
+                .andExpect(jsonPath("$.data.content", hasSize(0)));
+        mockMvc.perform(get("/api/v1/products/search/index")
+                .with(user("admin").roles("ADMIN")))
+                .andExpect(jsonPath("$.data.documents", is(3)));
+    }
+
+    private ResultActions search(String name, int page, int size) throws Exception {
+        return mockMvc.perform(get("/api/v1/products/search")
+                .param("name", name)
+                .param("page", String.valueOf(page))
+                .param("size", String.valueOf(size))
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)));
+    }
+
+    private static Product product(String name, String description) {
+        return Product.builder()
+                .name(name)
+                .description(description)
+                .price(new BigDecimal("19.99"))
+                .categoryId(1L)
+                .isActive(true)
+                .build();
+    }
+}
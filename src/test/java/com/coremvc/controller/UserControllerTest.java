@@ -1,20 +1,40 @@
 package com.coremvc.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.coremvc.dto.LoginRequest;
+import com.coremvc.dto.RegisterRequest;
+import com.coremvc.dto.RefreshTokenRequest;
+import com.coremvc.config.PasswordHashProperties;
 import com.coremvc.dto.request.UpdateUserRequest;
 import com.coremvc.model.Role;
 import com.coremvc.model.User;
 import com.coremvc.repository.UserRepository;
+import com.coremvc.security.ClientAddressResolver;
+import com.coremvc.security.JwtPrincipal;
+import com.coremvc.security.PasswordEncoderCalibrator;
+import com.coremvc.security.VerifiedTokenCache;
+import com.coremvc.util.JwtUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -49,6 +69,18 @@ public class UserControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ClientAddressResolver clientAddressResolver;
+
     private User testUser;
     private UpdateUserRequest updateUserRequest;
 
@@ -247,4 +279,275 @@ public class UserControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$.code", is("RESOURCE_NOT_FOUND")));
     }
+
+    // ========== Test JWT AUTHENTICATION ==========
+
+    @Test
+    @Order(10)
+    @DisplayName("Should authenticate with a bearer token and reject a tampered one")
+    void testBearerToken_VerifiedOnce() throws Exception {
+        String token = jwtUtil.generateToken("admin-uuid", "admin@system.local", "ADMIN");
+
+        JwtPrincipal principal = jwtUtil.verify(token);
+        Assertions.assertEquals("admin-uuid", principal.uuid());
+        Assertions.assertEquals("ADMIN", principal.role());
+        Assertions.assertEquals("admin@system.local", principal.email());
+        Assertions.assertNotNull(principal.expiresAt());
+
+        mockMvc.perform(get("/api/v1/users")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)));
+
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        mockMvc.perform(get("/api/v1/users")
+                .header("Authorization", "Bearer " + tampered)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error", is("INVALID_TOKEN")));
+    }
+
+    @Test
+    @Order(11)
+    @DisplayName("Should serve a repeated bearer token from the verified-token cache until evicted")
+    void testBearerToken_VerifiedTokenCache() throws Exception {
+        String token = jwtUtil.generateToken("admin-uuid", "admin@system.local", "ADMIN");
+        double hits = verifiedTokenHits();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/v1/users")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+
+        Assertions.assertEquals(hits + 2, verifiedTokenHits());
+
+        // Evicted: the next request verifies the token again, the one after is a hit
+        verifiedTokenCache.evict(token);
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/users")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+        Assertions.assertEquals(hits + 3, verifiedTokenHits());
+    }
+
+    private double verifiedTokenHits() {
+        FunctionCounter counter = meterRegistry.find("cache.gets")
+                .tags("cache", VerifiedTokenCache.CACHE_NAME, "result", "hit")
+                .functionCounter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    @Test
+    @Order(12)
+    @DisplayName("Should reject tokens revoked by logout and refresh tokens used twice")
+    void testLogout_RevokesTokens() throws Exception {
+        String token = jwtUtil.generateToken("admin-uuid", "admin@system.local", "ADMIN");
+        String refreshToken = jwtUtil.generateRefreshToken("admin-uuid");
+        Assertions.assertNotNull(jwtUtil.verify(token).jti());
+
+        // Rotation: the first refresh succeeds, replaying the same refresh token fails
+        String refreshBody = objectMapper.writeValueAsString(new RefreshTokenRequest(refreshToken));
+        String rotated = mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody))
+                .andExpect(status().isUnauthorized());
+
+        String rotatedRefreshToken = objectMapper.readTree(rotated).get("refreshToken").asText();
+        mockMvc.perform(post("/api/v1/auth/logout")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(rotatedRefreshToken))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/users")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.error", is("TOKEN_REVOKED")));
+        mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RefreshTokenRequest(rotatedRefreshToken))))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @Order(13)
+    @DisplayName("Should verify login passwords on the password work pool")
+    void testLogin_PasswordVerifiedOnWorkPool() throws Exception {
+        String body = objectMapper.writeValueAsString(LoginRequest.builder()
+                .email("test@example.com")
+                .password("password123")
+                .build());
+
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", notNullValue()))
+                .andExpect(jsonPath("$.email", is("test@example.com")));
+
+        Timer hashes = meterRegistry.find("auth.password.hash").tags("operation", "matches").timer();
+        Assertions.assertNotNull(hashes);
+        Assertions.assertTrue(hashes.count() >= 1);
+    }
+
+    @Test
+    @Order(14)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should accept legacy BCrypt hashes and replace them on login")
+    void testLogin_LegacyHashAcceptedAndUpgradable() throws Exception {
+        // Hash stored before the {id} prefix was introduced, with a lower cost than ours
+        String legacyHash = new BCryptPasswordEncoder(4).encode("password123");
+        String currentHash = passwordEncoder.encode("password123");
+        Assertions.assertTrue(passwordEncoder.matches("password123", legacyHash));
+        Assertions.assertTrue(passwordEncoder.upgradeEncoding(legacyHash));
+        Assertions.assertTrue(currentHash.startsWith("{bcrypt}"));
+        Assertions.assertFalse(passwordEncoder.upgradeEncoding(currentHash));
+
+        try {
+            testUser.setPassword(legacyHash);
+            userRepository.saveAndFlush(testUser);
+
+            String body = objectMapper.writeValueAsString(LoginRequest.builder()
+                    .email("test@example.com")
+                    .password("password123")
+                    .build());
+            MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.token", notNullValue()));
+
+            // The login does not wait for the re-hash; it is written in the background
+            String storedHash = legacyHash;
+            long deadline = System.currentTimeMillis() + 5000;
+            while (storedHash.equals(legacyHash) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                storedHash = userRepository.findByEmail("test@example.com").orElseThrow().getPassword();
+            }
+            Assertions.assertTrue(storedHash.startsWith("{bcrypt}"), "stored hash " + storedHash);
+            // "{bcrypt}$2a$NN$...": same strength as hashes made now
+            Assertions.assertEquals(currentHash.substring(0, 15), storedHash.substring(0, 15));
+            Assertions.assertFalse(passwordEncoder.upgradeEncoding(storedHash));
+            Assertions.assertTrue(passwordEncoder.matches("password123", storedHash));
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Order(15)
+    @DisplayName("Should take the client address from X-Forwarded-For only behind a trusted proxy")
+    void testLogin_ClientAddressFromTrustedProxy() throws Exception {
+        // Behind the load balancer: the client is the first hop not added by a trusted proxy
+        Assertions.assertEquals("203.0.113.7",
+                clientAddressResolver.resolve(forwarded("10.0.0.5", "203.0.113.7")));
+        Assertions.assertEquals("203.0.113.7",
+                clientAddressResolver.resolve(forwarded("10.0.0.5", "198.51.100.1, 203.0.113.7, 192.168.1.2")));
+        Assertions.assertEquals("10.0.0.5", clientAddressResolver.resolve(forwarded("10.0.0.5", null)));
+        Assertions.assertEquals("10.0.0.5", clientAddressResolver.resolve(forwarded("10.0.0.5", "not-an-address")));
+
+        // A direct client cannot pick its address through the header
+        Assertions.assertEquals("198.51.100.9",
+                clientAddressResolver.resolve(forwarded("198.51.100.9", "203.0.113.7")));
+
+        String body = objectMapper.writeValueAsString(LoginRequest.builder()
+                .email("test@example.com")
+                .password("password123")
+                .build());
+        MvcResult result = mockMvc.perform(post("/api/v1/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.5");
+                    return request;
+                })
+                .header(ClientAddressResolver.FORWARDED_FOR_HEADER, "203.0.113.7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token", notNullValue()));
+    }
+
+    private static MockHttpServletRequest forwarded(String remoteAddress, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/auth/login");
+        request.setRemoteAddr(remoteAddress);
+        if (forwardedFor != null) {
+            request.addHeader(ClientAddressResolver.FORWARDED_FOR_HEADER, forwardedFor);
+        }
+        return request;
+    }
+
+    @Test
+    @Order(16)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Should reject the second of two concurrent registrations of one email with 400")
+    void testRegister_ConcurrentDuplicateEmail() throws Exception {
+        String body = objectMapper.writeValueAsString(RegisterRequest.builder()
+                .email("race@example.com")
+                .fullName("Race User")
+                .password("password123")
+                .build());
+        try {
+            // Both pass the email check before either password is hashed and the user saved
+            MvcResult first = mockMvc.perform(post("/api/v1/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            MvcResult second = mockMvc.perform(post("/api/v1/auth/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            List<Integer> statuses = new ArrayList<>();
+            for (MvcResult result : List.of(first, second)) {
+                statuses.add(mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getStatus());
+            }
+            Assertions.assertTrue(statuses.containsAll(List.of(201, 400)), "statuses " + statuses);
+            Assertions.assertTrue(userRepository.existsByEmail("race@example.com"));
+        } finally {
+            userRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Order(17)
+    @DisplayName("Should only upgrade hashes below the configured cost when calibrating")
+    void testPasswordEncoder_CalibratedCostIsNotRatcheted() {
+        PasswordHashProperties properties = new PasswordHashProperties();
+        properties.setCalibrate(true);
+        properties.setTargetLatency(Duration.ofSeconds(10));
+        properties.getBcrypt().setStrength(5);
+        properties.getBcrypt().setMinStrength(4);
+        properties.getBcrypt().setMaxStrength(6);
+        PasswordEncoder calibrated = PasswordEncoderCalibrator.build(properties);
+
+        // A generous target: this node hashes at the maximum strength
+        String hash = calibrated.encode("password123");
+        Assertions.assertTrue(hash.startsWith("{bcrypt}$2a$06$"), "hash " + hash);
+        Assertions.assertTrue(calibrated.matches("password123", hash));
+
+        // Hashes made by slower nodes stay as they are unless below the shared strength
+        Assertions.assertFalse(calibrated.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(5).encode("password123")));
+        Assertions.assertTrue(calibrated.upgradeEncoding("{bcrypt}" + new BCryptPasswordEncoder(4).encode("password123")));
+    }
 }